@@ -0,0 +1,78 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public final class BenchmarkFixtures {
+
+    private static final long SEED = 20240601L;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static List<Product> products(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Category category = new Category();
+        category.setCategoryId(1L);
+        category.setCategoryName("Electronics");
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double price = 5 + random.nextInt(995);
+            double discount = random.nextInt(50);
+
+            Product product = new Product();
+            product.setProductId((long) i + 1);
+            product.setProductName("Product " + i);
+            product.setDescription("Benchmark product number " + i + " with a realistic description");
+            product.setImage("ab/cd/" + Long.toHexString(random.nextLong()) + ".png");
+            product.setQuantity(random.nextInt(1000));
+            product.setPrice(price);
+            product.setDiscount(discount);
+            product.setSpecialPrice(price - price * discount / 100);
+            product.setCategory(category);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static List<OrderItem> orderItems(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<OrderItem> orderItems = new ArrayList<>(count);
+        for (Product product : products(count)) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrderItemId(product.getProductId());
+            orderItem.setProduct(product);
+            orderItem.setQuantity(1 + random.nextInt(5));
+            orderItem.setDiscount(product.getDiscount());
+            orderItem.setOrderedProductPrice(product.getSpecialPrice());
+            orderItems.add(orderItem);
+        }
+        return orderItems;
+    }
+
+    public static Cart cart(int lines) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Cart cart = new Cart();
+        cart.setCartId(1L);
+        cart.setCartItems(new ArrayList<>(lines));
+
+        double totalPrice = 0;
+        for (Product product : products(lines)) {
+            CartItem cartItem = new CartItem();
+            cartItem.setCartItemId(product.getProductId());
+            cartItem.setCart(cart);
+            cartItem.setProduct(product);
+            cartItem.setQuantity(1 + random.nextInt(5));
+            cartItem.setDiscount(product.getDiscount());
+            cartItem.setProductPrice(product.getSpecialPrice());
+            cart.getCartItems().add(cartItem);
+            totalPrice += cartItem.getProductPrice() * cartItem.getQuantity();
+        }
+        cart.setTotalPrice(totalPrice);
+        return cart;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.project.execution;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    @Param({"platform", "virtual", "virtual_limited"})
+    public String mode;
+
+    @Param({"1000"})
+    public int requests;
+
+    @Param({"200"})
+    public int platformThreads;
+
+    @Param({"20"})
+    public int poolSize;
+
+    @Param({"2"})
+    public long dbLatencyMs;
+
+    @Param({"50"})
+    public long ioLatencyMs;
+
+    private Executor requestExecutor;
+    private ThreadPoolExecutor platformPool;
+    private ConnectionPoolLimiter limiter;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() {
+        connectionPool = new Semaphore(poolSize, true);
+
+        if (mode.equals("platform")) {
+            platformPool = new WorkerThreads(new MockEnvironment())
+                    .newPool("request", platformThreads, requests, new ThreadPoolExecutor.AbortPolicy());
+            requestExecutor = platformPool;
+            return;
+        }
+
+        WorkerThreads workerThreads = new WorkerThreads(new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true"));
+        if (!workerThreads.isVirtual()) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, run with -p mode=platform");
+        }
+        requestExecutor = new VirtualThreadTaskExecutor("request-");
+        if (mode.equals("virtual_limited")) {
+            limiter = new ConnectionPoolLimiter(poolSize * 2, requests, 30_000);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger served = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            requestExecutor.execute(() -> {
+                try {
+                    if (handle()) {
+                        served.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return served.get();
+    }
+
+    private boolean handle() throws InterruptedException {
+        Thread.sleep(ioLatencyMs);
+
+        if (limiter != null && !limiter.tryAcquire()) {
+            return false;
+        }
+        try {
+            connectionPool.acquire();
+            try {
+                Thread.sleep(dbLatencyMs);
+            } finally {
+                connectionPool.release();
+            }
+            return true;
+        } finally {
+            if (limiter != null) {
+                limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.benchmark.BenchmarkFixtures;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ProductMapper productMapper;
+    private OrderItemMapper orderItemMapper;
+    private List<Product> products;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        orderItemMapper = new OrderItemMapperImpl();
+        ReflectionTestUtils.setField(orderItemMapper, "productMapper", productMapper);
+
+        products = BenchmarkFixtures.products(size);
+        orderItems = BenchmarkFixtures.orderItems(size);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productsToDTOs() {
+        return productMapper.toDTOs(products);
+    }
+
+    @Benchmark
+    public List<OrderItemDTO> orderItemsToDTOs() {
+        return orderItemMapper.toDTO(orderItems);
+    }
+}
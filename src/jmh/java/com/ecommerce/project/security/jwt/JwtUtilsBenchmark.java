@@ -0,0 +1,79 @@
+package com.ecommerce.project.security.jwt;
+
+import com.ecommerce.project.repositories.RevokedTokenRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils verifyingJwtUtils;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = jwtUtils(10_000L);
+        verifyingJwtUtils = jwtUtils(1L);
+
+        token = cachingJwtUtils.generateTokenFromUsername("user1");
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = verifyingJwtUtils.generateTokenFromUsername("user" + i);
+        }
+    }
+
+    @Benchmark
+    public boolean validateCachedToken() {
+        return cachingJwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String usernameFromCachedToken() {
+        return cachingJwtUtils.getUsernameFromJwt(token);
+    }
+
+    @Benchmark
+    public boolean validateUncachedToken() {
+        return verifyingJwtUtils.validateJwtToken(nextToken());
+    }
+
+    @Benchmark
+    public String usernameFromUncachedToken() {
+        return verifyingJwtUtils.getUsernameFromJwt(nextToken());
+    }
+
+    private String nextToken() {
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return tokens[next];
+    }
+
+    private static JwtUtils jwtUtils(long cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils(new TokenVersionService(Mockito.mock(UserRepository.class),
+                Mockito.mock(RevokedTokenRepository.class), 30), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "jwt");
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", cacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "statelessPrincipal", false);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.benchmark.BenchmarkFixtures;
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.payload.CartDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int lines;
+
+    private CartServiceImpl cartService;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        cartService = new CartServiceImpl(null, null, null, new CartMapperImpl(), null, new ProductMapperImpl(), null);
+        cart = BenchmarkFixtures.cart(lines);
+    }
+
+    @Benchmark
+    public CartDTO cartToDTO() {
+        return cartService.toCartDTO(cart);
+    }
+
+    @Benchmark
+    public double recomputeTotal() {
+        double totalPrice = 0;
+        for (CartItem cartItem : cart.getCartItems()) {
+            totalPrice += cartItem.getProductPrice() * cartItem.getQuantity();
+        }
+        return totalPrice;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSpecificationBenchmark {
+
+    @Param({"", "Wireless Headphones"})
+    public String keyword;
+
+    @Param({"", "Electronics"})
+    public String category;
+
+    @Benchmark
+    public Specification<Product> buildSpecification() {
+        return ProductServiceImpl.getProductSpecification(keyword, category);
+    }
+}
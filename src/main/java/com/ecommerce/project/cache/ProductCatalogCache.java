@@ -0,0 +1,197 @@
+package com.ecommerce.project.cache;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CacheStatsResponse;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductCatalogCache implements MeterBinder {
+
+    private static final String ALL_CATEGORIES = "*";
+    private static final String CATEGORY_PATTERN = "%";
+    private static final String NO_KEYWORD = "";
+
+    private final Cache<CatalogQuery, CachedPage> cache;
+    private final Map<Long, Set<CatalogQuery>> queriesByProduct = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Set<CatalogQuery>>> queriesByListing = new ConcurrentHashMap<>();
+
+    public ProductCatalogCache(@Value("${product.cache.maxSize}") long maxSize,
+                               @Value("${product.cache.ttlSeconds}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .evictionListener((CatalogQuery query, CachedPage page, RemovalCause cause) -> unindex(query, page))
+                .recordStats()
+                .build();
+    }
+
+    public ProductResponse get(CatalogQuery query, Supplier<ProductResponse> loader) {
+        return cache.get(query, key -> {
+            CachedPage page = CachedPage.of(loader.get());
+            index(key, page);
+            return page;
+        }).response();
+    }
+
+    public void evictListings(Long productId, Category category, String... texts) {
+        TransactionUtils.afterCommit(() -> {
+            Set<CatalogQuery> stale = new HashSet<>(queriesByProduct.getOrDefault(productId, Set.of()));
+            Set<String> terms = ProductSearchIndex.terms(texts);
+
+            for (String dimension : categoryDimensions(category)) {
+                Map<String, Set<CatalogQuery>> listings = queriesByListing.getOrDefault(dimension, Map.of());
+                stale.addAll(listings.getOrDefault(NO_KEYWORD, Set.of()));
+                for (String term : terms) {
+                    listings.getOrDefault(term, Set.of()).stream()
+                            .filter(query -> ProductSearchIndex.matches(query.keyword(), texts))
+                            .forEach(stale::add);
+                }
+            }
+
+            stale.forEach(this::invalidate);
+        });
+    }
+
+    public void evictProduct(Long productId) {
+        TransactionUtils.afterCommit(() ->
+                Set.copyOf(queriesByProduct.getOrDefault(productId, Set.of())).forEach(this::invalidate));
+    }
+
+    public void evictCategory(Long categoryId, String... categoryNames) {
+        TransactionUtils.afterCommit(() -> {
+            List<String> dimensions = new ArrayList<>(List.of("id:" + categoryId, CATEGORY_PATTERN));
+            for (String categoryName : categoryNames) {
+                dimensions.add("name:" + categoryName);
+            }
+
+            Set<CatalogQuery> stale = new HashSet<>();
+            for (String dimension : dimensions) {
+                queriesByListing.getOrDefault(dimension, Map.of()).values().forEach(stale::addAll);
+            }
+            stale.forEach(this::invalidate);
+        });
+    }
+
+    private void invalidate(CatalogQuery query) {
+        cache.asMap().computeIfPresent(query, (key, page) -> {
+            unindex(key, page);
+            return null;
+        });
+    }
+
+    private void index(CatalogQuery query, CachedPage page) {
+        for (Long productId : page.productIds()) {
+            queriesByProduct.compute(productId, (key, queries) -> {
+                Set<CatalogQuery> indexed = queries != null ? queries : ConcurrentHashMap.newKeySet();
+                indexed.add(query);
+                return indexed;
+            });
+        }
+
+        queriesByListing.compute(query.categoryDimension(), (dimension, listings) -> {
+            Map<String, Set<CatalogQuery>> indexed = listings != null ? listings : new ConcurrentHashMap<>();
+            indexed.computeIfAbsent(query.firstTerm(), term -> ConcurrentHashMap.newKeySet()).add(query);
+            return indexed;
+        });
+    }
+
+    private void unindex(CatalogQuery query, CachedPage page) {
+        for (Long productId : page.productIds()) {
+            queriesByProduct.computeIfPresent(productId, (key, queries) -> {
+                queries.remove(query);
+                return queries.isEmpty() ? null : queries;
+            });
+        }
+
+        queriesByListing.computeIfPresent(query.categoryDimension(), (dimension, listings) -> {
+            listings.computeIfPresent(query.firstTerm(), (term, queries) -> {
+                queries.remove(query);
+                return queries.isEmpty() ? null : queries;
+            });
+            return listings.isEmpty() ? null : listings;
+        });
+    }
+
+    private static List<String> categoryDimensions(Category category) {
+        List<String> dimensions = new ArrayList<>(List.of(ALL_CATEGORIES, CATEGORY_PATTERN));
+        if (category != null) {
+            dimensions.add("id:" + category.getCategoryId());
+            dimensions.add("name:" + category.getCategoryName());
+        }
+        return dimensions;
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.estimatedSize());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "productCatalog");
+    }
+
+    public record CatalogQuery(String keyword,
+                               String category,
+                               Long categoryId,
+                               Integer pageNumber,
+                               Integer pageSize,
+                               String sortBy,
+                               String sortOrder) {
+
+        String categoryDimension() {
+            if (categoryId != null) {
+                return "id:" + categoryId;
+            }
+            if (category == null || category.isEmpty()) {
+                return ALL_CATEGORIES;
+            }
+            if (category.contains("%") || category.contains("_")) {
+                return CATEGORY_PATTERN;
+            }
+            return "name:" + category;
+        }
+
+        String firstTerm() {
+            List<String> terms = ProductSearchIndex.tokenize(keyword);
+            return terms.isEmpty() ? NO_KEYWORD : terms.get(0);
+        }
+    }
+
+    private record CachedPage(ProductResponse response, Set<Long> productIds) {
+
+        static CachedPage of(ProductResponse response) {
+            Set<Long> productIds = response.getContent().stream()
+                    .map(ProductDTO::getProductId)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new CachedPage(response, productIds);
+        }
+    }
+}
@@ -5,5 +5,7 @@ public class AppConstants {
     public static final String PAGE_SIZE = "50";
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_PRODUCTS_BY = "productId";
+    public static final String SORT_PRODUCTS_BY_RELEVANCE = "relevance";
     public static final String SORT_DIRECTION = "asc";
+    public static final int CART_EXPORT_CHUNK_SIZE = 500;
 }
@@ -0,0 +1,43 @@
+package com.ecommerce.project.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderItemSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderItemSequenceInitializer.class);
+
+    private static final String SEQUENCE = "order_items_seq";
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(order_item_id) FROM order_items", Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        Long nextValue = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE), Long.class);
+        if (nextValue != null && nextValue - ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+
+        long restartWith = maxId + ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + restartWith);
+        logger.warn("Moved {} from {} to {} past the highest order item id {}", SEQUENCE, nextValue, restartWith, maxId);
+    }
+}
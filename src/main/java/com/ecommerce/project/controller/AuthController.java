@@ -11,7 +11,9 @@ import com.ecommerce.project.security.request.LoginRequest;
 import com.ecommerce.project.security.request.SignupRequest;
 import com.ecommerce.project.security.response.MessageResponse;
 import com.ecommerce.project.security.response.UserInfoResponse;
+import com.ecommerce.project.security.services.TokenVersionService;
 import com.ecommerce.project.security.services.UserDetailsImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -42,6 +44,8 @@ public class AuthController {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final TokenVersionService tokenVersionService;
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody @Valid SignupRequest signupRequest) {
         if (userRepository.existsByUsername(signupRequest.getUsername())) {
@@ -146,7 +150,25 @@ public class AuthController {
     }
 
     @PostMapping("/signout")
-    public ResponseEntity<?> signoutUser() {
+    public ResponseEntity<?> signoutUser(HttpServletRequest request) {
+        String jwt = jwtUtils.getJwtToken(request);
+        if (jwt != null) {
+            jwtUtils.revokeToken(jwt);
+        }
+
+        ResponseCookie cookie = jwtUtils.generateCleanJwtCookies();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .body(new MessageResponse("Successfully signed out!"));
+    }
+
+    @PostMapping("/signout/all")
+    public ResponseEntity<?> signoutAllDevices(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            tokenVersionService.revoke(userDetails.getId());
+        }
+
         ResponseCookie cookie = jwtUtils.generateCleanJwtCookies();
 
         return ResponseEntity.ok()
@@ -1,7 +1,9 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.service.CartService;
 import com.ecommerce.project.util.AuthUtil;
@@ -9,8 +11,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/api")
@@ -23,6 +28,8 @@ public class CartController {
 
     private final AuthUtil authUtil;
 
+    private final ObjectMapper objectMapper;
+
     @PostMapping("cart/products/{productId}/quantity/{quantity}")
     public ResponseEntity<CartDTO> addProductToCart(@PathVariable Long productId,
                                                     @PathVariable Integer quantity) {
@@ -30,10 +37,31 @@ public class CartController {
         return new ResponseEntity<>(cartDTO, HttpStatus.CREATED);
     }
 
-    @GetMapping("/carts")
-    public ResponseEntity<List<CartDTO>> getCarts() {
-        List<CartDTO> cartDTOS = cartService.getAllCarts();
-        return new ResponseEntity<>(cartDTOS, HttpStatus.FOUND);
+    @GetMapping("/admin/carts")
+    public ResponseEntity<CartResponse> getCarts(
+            @RequestParam(name = "pageNumber",
+                    defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize",
+                    defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+        CartResponse cartResponse = cartService.getAllCarts(pageNumber, pageSize);
+        return new ResponseEntity<>(cartResponse, HttpStatus.FOUND);
+    }
+
+    @GetMapping(value = "/admin/carts/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportCarts() {
+        StreamingResponseBody body = outputStream -> cartService.exportCarts(AppConstants.CART_EXPORT_CHUNK_SIZE, chunk -> {
+            try {
+                for (CartDTO cartDTO : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(cartDTO));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
     }
 
     @GetMapping("/carts/users/cart")
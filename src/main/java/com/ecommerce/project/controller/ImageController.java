@@ -0,0 +1,25 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.image.ImageFileServer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String IMAGE_PATH_PREFIX = "/images/";
+
+    private final ImageFileServer imageFileServer;
+
+    @GetMapping("/images/**")
+    public void getImage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        imageFileServer.serve(uri.substring(IMAGE_PATH_PREFIX.length()), request, response);
+    }
+}
@@ -1,14 +1,20 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.OrderCursorResponse;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.service.IdempotentCheckoutService;
 import com.ecommerce.project.service.OrderServiceImpl;
 import com.ecommerce.project.util.AuthUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
@@ -16,13 +22,21 @@ public class OrderController {
 
     private final OrderServiceImpl orderService;
 
+    private final IdempotentCheckoutService idempotentCheckoutService;
+
     private final AuthUtil authUtil;
 
     @PostMapping("/order/users/payments/{paymentMethod}")
     public ResponseEntity<OrderDTO> orderProducts(@PathVariable String paymentMethod,
-                                                  @RequestBody OrderRequestDTO orderRequest) {
+                                                  @RequestBody OrderRequestDTO orderRequest,
+                                                  @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         String email = authUtil.loggedInEmail();
 
+        if (idempotencyKey != null) {
+            OrderDTO orderDTO = idempotentCheckoutService.placeOrder(email, idempotencyKey, paymentMethod, orderRequest);
+            return new ResponseEntity<>(orderDTO, HttpStatus.OK);
+        }
+
         OrderDTO orderDTO = orderService.placeOrder(
                 email,
                 orderRequest.getAddressId(),
@@ -35,4 +49,32 @@ public class OrderController {
 
         return new ResponseEntity<>(orderDTO, HttpStatus.OK);
     }
+
+    @GetMapping("/users/orders")
+    public ResponseEntity<OrderCursorResponse> getUserOrders(
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize",
+                    defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+        String email = authUtil.loggedInEmail();
+
+        OrderCursorResponse orderCursorResponse = orderService.getOrders(email, status, fromDate, toDate, cursor, pageSize);
+        return new ResponseEntity<>(orderCursorResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/admin/orders")
+    public ResponseEntity<OrderCursorResponse> getAllOrders(
+            @RequestParam(name = "email", required = false) String email,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize",
+                    defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+
+        OrderCursorResponse orderCursorResponse = orderService.getOrders(email, status, fromDate, toDate, cursor, pageSize);
+        return new ResponseEntity<>(orderCursorResponse, HttpStatus.OK);
+    }
 }
@@ -0,0 +1,46 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.APIResponse;
+import com.ecommerce.project.payload.PaymentCallbackDTO;
+import com.ecommerce.project.payload.PaymentWebhookStatsDTO;
+import com.ecommerce.project.service.PaymentWebhookService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+    public static final String WEBHOOK_SECRET_HEADER = "X-Webhook-Secret";
+
+    private final PaymentWebhookService paymentWebhookService;
+
+    @PostMapping("/public/payments/webhook")
+    public ResponseEntity<APIResponse> receivePaymentCallback(
+            @RequestHeader(value = WEBHOOK_SECRET_HEADER, required = false) String secret,
+            @Valid @RequestBody PaymentCallbackDTO callback) {
+
+        if (!paymentWebhookService.verifySecret(secret)) {
+            return new ResponseEntity<>(new APIResponse("Invalid webhook secret", false), HttpStatus.UNAUTHORIZED);
+        }
+
+        if (!paymentWebhookService.accept(callback)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+            return new ResponseEntity<>(new APIResponse("Payment callback queue is full", false),
+                    headers, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        return new ResponseEntity<>(new APIResponse("Payment callback accepted", true), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/admin/payments/webhook/stats")
+    public ResponseEntity<PaymentWebhookStatsDTO> getPaymentWebhookStats() {
+        return new ResponseEntity<>(paymentWebhookService.getStats(), HttpStatus.OK);
+    }
+}
@@ -1,8 +1,13 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.cache.ProductCatalogCache;
 import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.CacheStatsResponse;
+import com.ecommerce.project.payload.ProductCursorResponse;
 import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.payload.RepricingStatusDTO;
+import com.ecommerce.project.service.CartRepricingService;
 import com.ecommerce.project.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +25,10 @@ public class ProductController {
 
     private final ProductService productService;
 
+    private final ProductCatalogCache productCatalogCache;
+
+    private final CartRepricingService cartRepricingService;
+
     @GetMapping("/public/products")
     public ResponseEntity<ProductResponse> getProducts(
             @RequestParam(name = "keyword", required = false) String keyword,
@@ -37,6 +46,23 @@ public class ProductController {
         return new ResponseEntity<>(productResponse, HttpStatus.OK);
     }
 
+    @GetMapping("/public/products/scroll")
+    public ResponseEntity<ProductCursorResponse> scrollProducts(
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize",
+                    defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy",
+                    defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder",
+                    defaultValue = AppConstants.SORT_DIRECTION, required = false) String sortOrder,
+            @RequestParam(name = "skipCount", defaultValue = "false", required = false) boolean skipCount) {
+
+        ProductCursorResponse productCursorResponse = productService.scrollProducts(keyword, category, cursor, pageSize, sortBy, sortOrder, skipCount);
+        return new ResponseEntity<>(productCursorResponse, HttpStatus.OK);
+    }
+
     @GetMapping("/public/categories/{categoryId}/products")
     public ResponseEntity<ProductResponse> getProductsByCategory(
             @PathVariable Long categoryId,
@@ -61,7 +87,7 @@ public class ProductController {
             @RequestParam(name = "pageSize",
                     defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy",
-                    defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+                    defaultValue = AppConstants.SORT_PRODUCTS_BY_RELEVANCE, required = false) String sortBy,
             @RequestParam(name = "sortOrder",
                     defaultValue = AppConstants.SORT_DIRECTION, required = false) String sortOrder) {
 
@@ -98,4 +124,15 @@ public class ProductController {
         ProductDTO productDTO = productService.deleteProduct(productId);
         return new ResponseEntity<>(productDTO, HttpStatus.OK);
     }
-}
+
+    @GetMapping("/admin/products/cache/stats")
+    public ResponseEntity<CacheStatsResponse> getProductCacheStats() {
+        return new ResponseEntity<>(productCatalogCache.stats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/admin/products/{productId}/repricing")
+    public ResponseEntity<RepricingStatusDTO> getRepricingStatus(@PathVariable Long productId) {
+        RepricingStatusDTO repricingStatus = cartRepricingService.getRepricingStatus(productId);
+        return new ResponseEntity<>(repricingStatus, HttpStatus.OK);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.instrumentation.SqlMetricsRegistry;
+import com.ecommerce.project.payload.SqlHandlerStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class SqlMetricsController {
+
+    private final SqlMetricsRegistry sqlMetricsRegistry;
+
+    @GetMapping("/admin/sql/stats")
+    public ResponseEntity<List<SqlHandlerStatsDTO>> getSqlStats() {
+        return new ResponseEntity<>(sqlMetricsRegistry.getStats(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.project.execution;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPoolLimiter implements MeterBinder {
+
+    private final int permits;
+    private final int maxQueued;
+    private final long acquireTimeoutMs;
+    private final Semaphore semaphore;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder queueFullRejections = new LongAdder();
+    private final LongAdder timeoutRejections = new LongAdder();
+
+    public ConnectionPoolLimiter(int permits, int maxQueued, long acquireTimeoutMs) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Connection pool limiter needs at least one permit");
+        }
+        this.permits = permits;
+        this.maxQueued = maxQueued;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        if (semaphore.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            queueFullRejections.increment();
+            return false;
+        }
+
+        try {
+            if (semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            timeoutRejections.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int permits() {
+        return permits;
+    }
+
+    public int inFlight() {
+        return permits - semaphore.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public long rejections() {
+        return queueFullRejections.sum() + timeoutRejections.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("execution.limiter.permits", this, ConnectionPoolLimiter::permits).register(registry);
+        Gauge.builder("execution.limiter.in_flight", this, ConnectionPoolLimiter::inFlight).register(registry);
+        Gauge.builder("execution.limiter.queued", this, ConnectionPoolLimiter::queued).register(registry);
+        FunctionCounter.builder("execution.limiter.rejections", queueFullRejections, LongAdder::sum)
+                .tag("reason", "queue_full")
+                .register(registry);
+        FunctionCounter.builder("execution.limiter.rejections", timeoutRejections, LongAdder::sum)
+                .tag("reason", "timeout")
+                .register(registry);
+    }
+}
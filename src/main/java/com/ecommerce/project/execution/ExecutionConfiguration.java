@@ -0,0 +1,52 @@
+package com.ecommerce.project.execution;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(name = "execution.limiter.enabled", havingValue = "true")
+public class ExecutionConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfiguration.class);
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public ConnectionPoolLimiter connectionPoolLimiter(DataSource dataSource,
+                                                       WorkerThreads workerThreads,
+                                                       @Value("${execution.limiter.maxConcurrent}") int maxConcurrent,
+                                                       @Value("${execution.limiter.requestsPerConnection}") int requestsPerConnection,
+                                                       @Value("${execution.limiter.maxQueued}") int maxQueued,
+                                                       @Value("${execution.limiter.acquireTimeoutMs}") long acquireTimeoutMs) {
+        int connections = maximumPoolSize(dataSource);
+        int permits = maxConcurrent > 0 ? maxConcurrent : connections * requestsPerConnection;
+        logger.info("Admitting {} concurrent API requests for {} pooled connections on {} threads",
+                permits, connections, workerThreads.isVirtual() ? "virtual" : "platform");
+        return new ConnectionPoolLimiter(permits, maxQueued, acquireTimeoutMs);
+    }
+
+    @Bean
+    public ConnectionPoolLimitFilter connectionPoolLimitFilter(ConnectionPoolLimiter connectionPoolLimiter) {
+        return new ConnectionPoolLimitFilter(connectionPoolLimiter);
+    }
+
+    static int maximumPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return maximumPoolSize > 0 ? maximumPoolSize : HIKARI_DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read the connection pool size : {}", e.getMessage());
+        }
+        return HIKARI_DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.project.image;
+
+public enum ImageVariant {
+    THUMBNAIL("thumbnail", 200),
+    MEDIUM("medium", 600),
+    LARGE("large", 1200);
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.project.image;
+
+import com.ecommerce.project.execution.WorkerThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.*;
+
+@Component
+public class ImageVariantPipeline implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantPipeline.class);
+
+    private static final String VARIANT_EXTENSION = ".jpg";
+
+    private final Path imageDirectory;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Boolean> readyVariants = new ConcurrentHashMap<>();
+
+    public ImageVariantPipeline(WorkerThreads workerThreads,
+                                @Value("${project.image}") String path,
+                                @Value("${image.variants.workers}") int workers,
+                                @Value("${image.variants.queueCapacity}") int queueCapacity,
+                                @Value("${image.variants.jpegQuality}") float jpegQuality,
+                                @Value("${image.variants.maxPixels}") long maxPixels) {
+        this.imageDirectory = Paths.get(path);
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+
+        this.executor = workerThreads.newPool("image-variants", workers, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<Void> generateVariants(String fileName) {
+        try {
+            return CompletableFuture.runAsync(() -> generate(fileName), executor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Image variant queue is full, {} will be served in original size", fileName);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public String resolve(String fileName, ImageVariant variant) {
+        if (fileName == null) {
+            return null;
+        }
+
+        String variantFileName = variantFileName(fileName, variant);
+        boolean ready = readyVariants.computeIfAbsent(variantFileName,
+                name -> Files.exists(imageDirectory.resolve(name)));
+        return ready ? variantFileName : fileName;
+    }
+
+    public void forget(String fileName) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            readyVariants.remove(variantFileName(fileName, variant));
+        }
+    }
+
+    public static String variantFileName(String fileName, ImageVariant variant) {
+        int extension = fileName.lastIndexOf('.');
+        String baseName = extension > 0 ? fileName.substring(0, extension) : fileName;
+        return baseName + "-" + variant.suffix() + VARIANT_EXTENSION;
+    }
+
+    private void generate(String fileName) {
+        BufferedImage source;
+        try {
+            source = read(fileName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read image " + fileName, e);
+        }
+
+        if (source == null) {
+            return;
+        }
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            String variantFileName = variantFileName(fileName, variant);
+            try {
+                write(resize(source, variant.maxDimension()), imageDirectory.resolve(variantFileName));
+                readyVariants.put(variantFileName, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write image variant " + variantFileName, e);
+            }
+        }
+    }
+
+    // The header is checked before decoding, so a small file declaring huge dimensions is never expanded in memory.
+    private BufferedImage read(String fileName) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(imageDirectory.resolve(fileName).toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                logger.warn("Image {} has an unsupported format, no variants generated", fileName);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    logger.warn("Image {} has {} pixels, more than the {} allowed, no variants generated",
+                            fileName, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = draw(current, width, height);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, Path target) throws IOException {
+        Path temporary = Files.createTempFile(imageDirectory, ".variant-", VARIANT_EXTENSION);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temporary.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "imageVariants", Tags.empty()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.project.instrumentation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BucketHistogram {
+
+    private final long[] upperBounds;
+    private final AtomicLongArray counts;
+
+    public BucketHistogram(long... upperBounds) {
+        this.upperBounds = upperBounds.clone();
+        this.counts = new AtomicLongArray(upperBounds.length + 1);
+    }
+
+    public void record(long value) {
+        int bucket = 0;
+        while (bucket < upperBounds.length && value > upperBounds[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+    }
+
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBounds[i];
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public Map<String, Long> buckets() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < upperBounds.length; i++) {
+            buckets.put(String.valueOf(upperBounds[i]), counts.get(i));
+        }
+        buckets.put("+Inf", counts.get(upperBounds.length));
+        return buckets;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.project.instrumentation;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class EntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.project.instrumentation;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    public InstrumentedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return statement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return statement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return statement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, S statement) {
+        return proxy(type, statement, (method, args) -> {
+            SqlRequestContext context = SqlRequestContext.current();
+            if (context == null) {
+                return invoke(statement, method, args);
+            }
+
+            String name = method.getName();
+            boolean executes = name.startsWith("execute");
+            if (executes) {
+                context.statementExecuted();
+            }
+
+            long started = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(statement, method, args);
+            } finally {
+                if (executes) {
+                    context.dbTime(System.nanoTime() - started);
+                }
+            }
+
+            if (result instanceof ResultSet resultSet && (executes || name.equals("getResultSet"))) {
+                return resultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            if (!method.getName().equals("next")) {
+                return invoke(resultSet, method, args);
+            }
+
+            SqlRequestContext context = SqlRequestContext.current();
+            if (context == null) {
+                return invoke(resultSet, method, args);
+            }
+
+            long started = System.nanoTime();
+            Object hasRow = invoke(resultSet, method, args);
+            context.dbTime(System.nanoTime() - started);
+            if (Boolean.TRUE.equals(hasRow)) {
+                context.rowFetched();
+            }
+            return hasRow;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args.length == 1 && ((Class<?>) args[0]).isInstance(target)) {
+                return target;
+            }
+            if (method.getName().equals("isWrapperFor") && args.length == 1 && ((Class<?>) args[0]).isInstance(target)) {
+                return true;
+            }
+            return invocation.invoke(method, args);
+        });
+    }
+
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
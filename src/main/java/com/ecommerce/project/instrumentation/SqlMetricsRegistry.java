@@ -0,0 +1,192 @@
+package com.ecommerce.project.instrumentation;
+
+import com.ecommerce.project.payload.SqlHandlerStatsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class SqlMetricsRegistry implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetricsRegistry.class);
+
+    private static final long[] STATEMENT_BUCKETS = {0, 1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024};
+    private static final long[] DB_MILLIS_BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets;
+    private final boolean enforced;
+    private final Map<String, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public SqlMetricsRegistry(@Value("${sql.budget.maxStatements}") int defaultBudget,
+                              @Value("${sql.budget.overrides}") String overrides,
+                              @Value("${sql.budget.enforce}") boolean enforced) {
+        this.defaultBudget = defaultBudget;
+        this.budgets = parseBudgets(overrides);
+        this.enforced = enforced;
+    }
+
+    public int budgetFor(String handler) {
+        return budgets.getOrDefault(handler, defaultBudget);
+    }
+
+    public boolean isEnforced() {
+        return enforced;
+    }
+
+    void record(SqlRequestContext context) {
+        String handler = context.handler();
+        long statements = context.statements();
+        int budget = budgetFor(handler);
+        boolean overBudget = budget > 0 && statements > budget;
+
+        HandlerStats stats = handlers.computeIfAbsent(handler, key -> new HandlerStats());
+        stats.requests.increment();
+        stats.statements.add(statements);
+        stats.maxStatements.accumulate(statements);
+        stats.statementHistogram.record(statements);
+        stats.dbNanos.add(context.dbNanos());
+        stats.dbMillisHistogram.record(TimeUnit.NANOSECONDS.toMillis(context.dbNanos()));
+        stats.rowsFetched.add(context.rowsFetched());
+        stats.entityLoads.add(context.entityLoads());
+
+        HandlerMeters handlerMeters = metersFor(handler);
+        if (handlerMeters != null) {
+            handlerMeters.record(context, overBudget);
+        }
+
+        if (overBudget) {
+            stats.budgetViolations.increment();
+            logger.warn("{} issued {} statements, over its budget of {}", handler, statements, budget);
+        }
+    }
+
+    public List<SqlHandlerStatsDTO> getStats() {
+        List<SqlHandlerStatsDTO> stats = new ArrayList<>();
+        new TreeMap<>(handlers).forEach((handler, handlerStats) -> stats.add(handlerStats.toDTO(handler, budgetFor(handler))));
+        return stats;
+    }
+
+    public Optional<SqlHandlerStatsDTO> getStats(String handler) {
+        HandlerStats handlerStats = handlers.get(handler);
+        return Optional.ofNullable(handlerStats).map(stats -> stats.toDTO(handler, budgetFor(handler)));
+    }
+
+    public long budgetViolations() {
+        return handlers.values().stream().mapToLong(stats -> stats.budgetViolations.sum()).sum();
+    }
+
+    public void reset() {
+        handlers.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    private HandlerMeters metersFor(String handler) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return null;
+        }
+        return meters.computeIfAbsent(handler, key -> new HandlerMeters(registry, key));
+    }
+
+    private static Map<String, Integer> parseBudgets(String overrides) {
+        Map<String, Integer> budgets = new HashMap<>();
+        if (overrides == null || overrides.isBlank()) {
+            return budgets;
+        }
+
+        for (String entry : overrides.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid statement budget override : " + entry);
+            }
+            budgets.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return budgets;
+    }
+
+    private static class HandlerMeters {
+
+        private final DistributionSummary statements;
+        private final Timer dbTime;
+        private final Counter rowsFetched;
+        private final Counter entityLoads;
+        private final Counter budgetViolations;
+
+        HandlerMeters(MeterRegistry registry, String handler) {
+            Tags tags = Tags.of("handler", handler);
+            this.statements = DistributionSummary.builder("sql.request.statements")
+                    .tags(tags)
+                    .serviceLevelObjectives(1, 2, 4, 8, 16, 32, 64)
+                    .register(registry);
+            this.dbTime = Timer.builder("sql.request.db.time")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.rowsFetched = Counter.builder("sql.request.rows").tags(tags).register(registry);
+            this.entityLoads = Counter.builder("sql.request.entity.loads").tags(tags).register(registry);
+            this.budgetViolations = Counter.builder("sql.request.budget.violations").tags(tags).register(registry);
+        }
+
+        void record(SqlRequestContext context, boolean overBudget) {
+            statements.record(context.statements());
+            dbTime.record(context.dbNanos(), TimeUnit.NANOSECONDS);
+            rowsFetched.increment(context.rowsFetched());
+            entityLoads.increment(context.entityLoads());
+            if (overBudget) {
+                budgetViolations.increment();
+            }
+        }
+    }
+
+    private static class HandlerStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final BucketHistogram statementHistogram = new BucketHistogram(STATEMENT_BUCKETS);
+        private final LongAdder dbNanos = new LongAdder();
+        private final BucketHistogram dbMillisHistogram = new BucketHistogram(DB_MILLIS_BUCKETS);
+        private final LongAdder rowsFetched = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder budgetViolations = new LongAdder();
+
+        SqlHandlerStatsDTO toDTO(String handler, int budget) {
+            long count = requests.sum();
+            return new SqlHandlerStatsDTO(
+                    handler,
+                    count,
+                    statements.sum(),
+                    count == 0 ? 0 : (double) statements.sum() / count,
+                    maxStatements.get(),
+                    statementHistogram.percentile(95),
+                    statementHistogram.buckets(),
+                    TimeUnit.NANOSECONDS.toMillis(dbNanos.sum()),
+                    dbMillisHistogram.percentile(95),
+                    dbMillisHistogram.buckets(),
+                    rowsFetched.sum(),
+                    entityLoads.sum(),
+                    budget,
+                    budgetViolations.sum());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.project.instrumentation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.SQLException;
+
+public final class SqlRequestContext {
+
+    public static final String UNMATCHED_HANDLER = "unmatched";
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletRequest request;
+    private final SqlMetricsRegistry registry;
+
+    private String handler;
+    private int budget = -1;
+    private long statements;
+    private long dbNanos;
+    private long rowsFetched;
+    private long entityLoads;
+
+    private SqlRequestContext(HttpServletRequest request, SqlMetricsRegistry registry) {
+        this.request = request;
+        this.registry = registry;
+    }
+
+    static SqlRequestContext begin(HttpServletRequest request, SqlMetricsRegistry registry) {
+        SqlRequestContext context = new SqlRequestContext(request, registry);
+        CURRENT.set(context);
+        return context;
+    }
+
+    static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted() throws SQLException {
+        statements++;
+        if (budget < 0 && resolveHandler() != null) {
+            budget = registry.budgetFor(handler);
+        }
+
+        int limit = budget >= 0 ? budget : registry.budgetFor(UNMATCHED_HANDLER);
+        if (registry.isEnforced() && limit > 0 && statements > limit) {
+            throw new SQLException("Statement budget of " + limit + " exceeded by " + handler());
+        }
+    }
+
+    void dbTime(long nanos) {
+        dbNanos += nanos;
+    }
+
+    void rowFetched() {
+        rowsFetched++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    String handler() {
+        String resolved = resolveHandler();
+        return resolved != null ? resolved : UNMATCHED_HANDLER;
+    }
+
+    long statements() {
+        return statements;
+    }
+
+    long dbNanos() {
+        return dbNanos;
+    }
+
+    long rowsFetched() {
+        return rowsFetched;
+    }
+
+    long entityLoads() {
+        return entityLoads;
+    }
+
+    private String resolveHandler() {
+        if (handler == null
+                && request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return handler;
+    }
+}
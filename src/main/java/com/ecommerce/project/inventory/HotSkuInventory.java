@@ -0,0 +1,200 @@
+package com.ecommerce.project.inventory;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.InventoryJournalEntry;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.InventoryJournalRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class HotSkuInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotSkuInventory.class);
+
+    private static final String APPLY_DELTA =
+            "UPDATE products SET quantity = quantity - ? WHERE product_id = ?";
+
+    private final ProductRepository productRepository;
+    private final InventoryJournalRepository journalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> hotProductIds;
+    private final int stripes;
+    private final int flushBatchSize;
+    private final long flushIntervalMs;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hot-sku-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HotSkuInventory(ProductRepository productRepository,
+                           InventoryJournalRepository journalRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${inventory.hotSku.productIds}") Set<Long> hotProductIds,
+                           @Value("${inventory.hotSku.stripes}") int stripes,
+                           @Value("${inventory.hotSku.flushBatchSize}") int flushBatchSize,
+                           @Value("${inventory.hotSku.flushIntervalMs}") long flushIntervalMs) {
+        this.productRepository = productRepository;
+        this.journalRepository = journalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.hotProductIds = Set.copyOf(hotProductIds);
+        this.stripes = stripes;
+        this.flushBatchSize = flushBatchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int recovered = flush();
+        if (recovered > 0) {
+            logger.info("Applied {} pending inventory journal entries on startup", recovered);
+        }
+
+        if (hotProductIds.isEmpty()) {
+            return;
+        }
+
+        hotProductIds.forEach(this::load);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Hot SKU inventory enabled for products {}", counters.keySet());
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    public long available(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            throw new APIException("Product " + productId + " is not tracked as a hot SKU");
+        }
+        return counter.available();
+    }
+
+    public void reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> acquired = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            StripedStockCounter counter = counters.get(line.getKey());
+            if (counter == null || !counter.tryAcquire(line.getValue())) {
+                release(acquired);
+                throw new APIException("Insufficient stock for product " + line.getKey());
+            }
+            acquired.put(line.getKey(), line.getValue());
+        }
+
+        TransactionUtils.afterRollback(() -> release(acquired));
+
+        Instant now = Instant.now();
+        journalRepository.saveAll(acquired.entrySet().stream()
+                .map(line -> new InventoryJournalEntry(null, line.getKey(), line.getValue(), now))
+                .toList());
+    }
+
+    public void adjust(Long productId, int delta) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return;
+        }
+        if (delta > 0) {
+            counter.add(delta);
+        } else if (delta < 0) {
+            counter.remove(-(long) delta);
+        }
+    }
+
+    public int flush() {
+        flushLock.lock();
+        try {
+            int total = 0;
+            int applied;
+            do {
+                applied = Objects.requireNonNull(transactionTemplate.execute(status -> flushBatch()));
+                total += applied;
+            } while (applied == flushBatchSize);
+            return total;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushBatch() {
+        List<InventoryJournalEntry> entries = journalRepository.findAllByOrderByEntryIdAsc(Limit.of(flushBatchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> entryIds = entries.stream().map(InventoryJournalEntry::getEntryId).toList();
+        if (journalRepository.deleteEntries(entryIds) != entryIds.size()) {
+            throw new APIException("Inventory journal was flushed concurrently");
+        }
+
+        Map<Long, Integer> deltas = new TreeMap<>();
+        entries.forEach(entry -> deltas.merge(entry.getProductId(), entry.getQuantity(), Integer::sum));
+        jdbcTemplate.batchUpdate(APPLY_DELTA, deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getValue(), delta.getKey()})
+                .toList());
+
+        return entries.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Inventory journal flush failed : {}", e.getMessage());
+        }
+    }
+
+    private void load(Long productId) {
+        Optional<Product> product = productRepository.findById(productId);
+        if (product.isEmpty()) {
+            counters.remove(productId);
+            logger.warn("Hot SKU {} does not exist and is not tracked", productId);
+            return;
+        }
+        int quantity = product.get().getQuantity() == null ? 0 : product.get().getQuantity();
+        counters.put(productId, new StripedStockCounter(stripes, Math.max(quantity, 0)));
+    }
+
+    private void release(Map<Long, Integer> acquired) {
+        acquired.forEach((productId, quantity) -> {
+            StripedStockCounter counter = counters.get(productId);
+            if (counter != null) {
+                counter.add(quantity);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.project.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class StripedStockCounter {
+
+    private final AtomicLongArray stripes;
+
+    StripedStockCounter(int stripeCount, long stock) {
+        this.stripes = new AtomicLongArray(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.set(i, stock / stripeCount + (i < stock % stripeCount ? 1 : 0));
+        }
+    }
+
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            total += stripes.get(i);
+        }
+        return total;
+    }
+
+    boolean tryAcquire(int units) {
+        int stripeCount = stripes.length();
+        int home = ThreadLocalRandom.current().nextInt(stripeCount);
+
+        for (int i = 0; i < stripeCount; i++) {
+            int index = (home + i) % stripeCount;
+            long current = stripes.get(index);
+            while (current >= units) {
+                if (stripes.compareAndSet(index, current, current - units)) {
+                    return true;
+                }
+                current = stripes.get(index);
+            }
+        }
+
+        long[] taken = new long[stripeCount];
+        long remaining = units;
+        for (int i = 0; i < stripeCount && remaining > 0; i++) {
+            int index = (home + i) % stripeCount;
+            long current = stripes.get(index);
+            while (current > 0) {
+                long take = Math.min(current, remaining);
+                if (stripes.compareAndSet(index, current, current - take)) {
+                    taken[index] = take;
+                    remaining -= take;
+                    break;
+                }
+                current = stripes.get(index);
+            }
+        }
+
+        if (remaining == 0) {
+            return true;
+        }
+
+        for (int index = 0; index < stripeCount; index++) {
+            if (taken[index] > 0) {
+                stripes.addAndGet(index, taken[index]);
+            }
+        }
+        return false;
+    }
+
+    void add(long units) {
+        stripes.addAndGet(ThreadLocalRandom.current().nextInt(stripes.length()), units);
+    }
+
+    // Drains stock from every stripe that has some, so no single stripe goes negative while the others
+    // keep granting units. Whatever exceeds the stock still on hand is dropped, clamping the total at zero.
+    void remove(long units) {
+        int stripeCount = stripes.length();
+        int home = ThreadLocalRandom.current().nextInt(stripeCount);
+        long remaining = units;
+
+        for (int i = 0; i < stripeCount && remaining > 0; i++) {
+            int index = (home + i) % stripeCount;
+            long current = stripes.get(index);
+            while (current > 0) {
+                long take = Math.min(current, remaining);
+                if (stripes.compareAndSet(index, current, current - take)) {
+                    remaining -= take;
+                    break;
+                }
+                current = stripes.get(index);
+            }
+        }
+    }
+}
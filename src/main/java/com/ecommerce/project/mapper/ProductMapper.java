@@ -2,6 +2,7 @@ package com.ecommerce.project.mapper;
 
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductSummary;
 import org.mapstruct.Mapper;
 
 import java.util.List;
@@ -11,4 +12,6 @@ public interface ProductMapper {
     ProductDTO toDTO(Product product);
     Product toEntity(ProductDTO productDTO);
     List<ProductDTO> toDTOs(List<Product> products);
+    ProductDTO summaryToDTO(ProductSummary productSummary);
+    List<ProductDTO> summariesToDTOs(List<ProductSummary> productSummaries);
 }
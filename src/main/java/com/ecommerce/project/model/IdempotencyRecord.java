@@ -0,0 +1,36 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(columnList = "createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 64)
+    private String recordKey;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private Long orderId;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String response;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "inventory_journal")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_journal_seq")
+    @SequenceGenerator(name = "inventory_journal_seq", sequenceName = "inventory_journal_seq", allocationSize = 50)
+    private Long entryId;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -5,12 +5,17 @@ import jakarta.validation.constraints.Email;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_date_id", columnList = "order_date, order_id"),
+        @Index(name = "idx_orders_email_date_id", columnList = "email, order_date, order_id"),
+        @Index(name = "idx_orders_status_date_id", columnList = "order_status, order_date, order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,15 +32,17 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<OrderItem> orderItems;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "payment_id")
+    @ToString.Exclude
     private Payment payment;
 
     private LocalDate orderDate;
     private Double totalPrice;
     private String orderStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
+    @ToString.Exclude
     private Address address;
 }
@@ -0,0 +1,32 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stored_images")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredImage {
+
+    @Id
+    @Column(length = 200)
+    private String fileName;
+
+    @Column(nullable = false, length = 64)
+    private String digest;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -41,6 +41,9 @@ public class User {
     @Column(name = "password")
     private String password;
 
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
     @OneToMany(mappedBy = "user", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, orphanRemoval = true)
     private List<Address> addresses = new ArrayList<>();
 
@@ -0,0 +1,17 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderCursorResponse {
+    private List<OrderDTO> content;
+    private Integer pageSize;
+    private String nextCursor;
+    private boolean lastPage;
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.project.payload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentCallbackDTO {
+
+    @NotBlank(message = "Must not be blank")
+    @Size(max = 255)
+    private String pgPaymentId;
+
+    @NotBlank(message = "Must not be blank")
+    @Size(max = 255)
+    private String pgStatus;
+
+    @Size(max = 255)
+    private String pgResponseMessage;
+
+    @Size(max = 255)
+    private String pgName;
+}
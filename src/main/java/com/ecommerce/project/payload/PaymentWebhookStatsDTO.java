@@ -0,0 +1,20 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookStatsDTO {
+    private int queued;
+    private int capacity;
+    private long accepted;
+    private long coalesced;
+    private long rejected;
+    private long applied;
+    private long batches;
+    private long failedBatches;
+    private long dropped;
+}
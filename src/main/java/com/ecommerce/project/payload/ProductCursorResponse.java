@@ -0,0 +1,18 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCursorResponse {
+    private List<ProductDTO> content;
+    private Integer pageSize;
+    private String nextCursor;
+    private Long totalElements;
+    private boolean lastPage;
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,6 +19,7 @@ public class ProductDTO {
     private String productName;
 
     private String image;
+    private Map<String, String> imageVariants;
 
     @NotBlank(message = "Must not be blank")
     @Size(min = 6, message = "Product name must contain at least 6 characters")
@@ -0,0 +1,21 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingStatusDTO {
+
+    private Long productId;
+    private Double productPrice;
+    private String status;
+    private Long totalItems;
+    private Long repricedCarts;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlHandlerStatsDTO {
+    private String handler;
+    private long requests;
+    private long statements;
+    private double averageStatements;
+    private long maxStatements;
+    private long p95Statements;
+    private Map<String, Long> statementHistogram;
+    private long dbTimeMs;
+    private long p95DbTimeMs;
+    private Map<String, Long> dbTimeMsHistogram;
+    private long rowsFetched;
+    private long entityLoads;
+    private int statementBudget;
+    private long budgetViolations;
+}
@@ -1,11 +1,13 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.CartItem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,6 +20,21 @@ public interface CartItemRepository extends JpaRepository<CartItem,Long> {
     @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId = ?1 AND ci.product.productId = ?2")
     void deleteCartItemByProductIdAndCartId(Long cartId, Long productId);
 
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cartItemId IN ?1")
+    int deleteAllByCartItemIdIn(Collection<Long> cartItemIds);
+
     @Query("SELECT ci FROM CartItem ci WHERE ci.product.productId = ?1")
     List<CartItem> findByProductId(Long productId);
+
+    @Query("SELECT count(ci) FROM CartItem ci WHERE ci.product.productId = ?1")
+    long countByProductId(Long productId);
+
+    @Query("SELECT DISTINCT ci.cart.cartId FROM CartItem ci " +
+            "WHERE ci.product.productId = ?1 AND ci.cart.cartId > ?2 ORDER BY ci.cart.cartId")
+    List<Long> findCartIdsByProductIdAfter(Long productId, Long cartId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.productPrice = ?2 WHERE ci.product.productId = ?1 AND ci.cart.cartId IN ?3")
+    int updateProductPriceInCarts(Long productId, Double productPrice, Collection<Long> cartIds);
 }
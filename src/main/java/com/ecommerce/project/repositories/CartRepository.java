@@ -1,10 +1,16 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Cart;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +22,36 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 AND c.cartId = ?2")
     Cart findCartByEmailAndCart(String email, Long cartId);
 
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.product", "cartItems.product.category"})
+    @Query("SELECT c FROM Cart c WHERE c.user.email = ?1")
+    Cart findCartWithItemsByEmail(String email);
+
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.product", "cartItems.product.category"})
+    @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 AND c.cartId = ?2")
+    Cart findCartWithItemsByEmailAndCart(String email, Long cartId);
+
     @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.productId = ?1")
     List<Cart> findCartByProductId(Long productId);
+
+    @Query("SELECT c.cartId FROM Cart c")
+    Page<Long> findCartIds(Pageable pageable);
+
+    @Query("SELECT c.cartId FROM Cart c WHERE c.cartId > ?1 ORDER BY c.cartId")
+    List<Long> findCartIdsAfter(Long cartId, Limit limit);
+
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.product", "cartItems.product.category"})
+    @Query("SELECT c FROM Cart c WHERE c.cartId IN ?1")
+    List<Cart> findAllWithItemsByCartIdIn(Collection<Long> cartIds);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.totalPrice = c.totalPrice + " +
+            "(SELECT SUM((?2 - ci.productPrice) * ci.quantity) FROM CartItem ci " +
+            "WHERE ci.cart.cartId = c.cartId AND ci.product.productId = ?1) " +
+            "WHERE c.cartId IN ?3")
+    int repriceProductInCartTotals(Long productId, Double productPrice, Collection<Long> cartIds);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.totalPrice = COALESCE((SELECT SUM(ci.productPrice * ci.quantity) " +
+            "FROM CartItem ci WHERE ci.cart.cartId = c.cartId), 0) WHERE c.cartId = ?1")
+    int recalculateTotalPrice(Long cartId);
 }
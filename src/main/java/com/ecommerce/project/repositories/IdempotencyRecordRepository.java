@@ -0,0 +1,25 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (recordKey, email, requestHash, createdAt) VALUES (?1, ?2, ?3, ?4)")
+    int claim(String recordKey, String email, String requestHash, Instant createdAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.orderId = ?2, r.response = ?3 WHERE r.recordKey = ?1")
+    int complete(String recordKey, Long orderId, String response);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < ?1")
+    int deleteCreatedBefore(Instant cutoff);
+}
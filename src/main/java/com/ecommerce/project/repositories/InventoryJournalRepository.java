@@ -0,0 +1,20 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.InventoryJournalEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InventoryJournalRepository extends JpaRepository<InventoryJournalEntry, Long> {
+    List<InventoryJournalEntry> findAllByOrderByEntryIdAsc(Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM InventoryJournalEntry e WHERE e.entryId IN ?1")
+    int deleteEntries(Collection<Long> entryIds);
+}
@@ -1,7 +1,17 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+
+    @EntityGraph(attributePaths = {"payment", "orderItems", "orderItems.product", "orderItems.product.category"})
+    @Query("SELECT o FROM Order o WHERE o.orderId IN ?1")
+    List<Order> findAllWithItemsByOrderIdIn(Collection<Long> orderIds);
 }
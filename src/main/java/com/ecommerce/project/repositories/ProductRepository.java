@@ -1,18 +1,42 @@
 package com.ecommerce.project.repositories;
 
-import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
-    Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageable);
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageable);
     Product findByProductName(String productName);
+
+    String SUMMARY_SELECT = "SELECT new com.ecommerce.project.payload.ProductSummary(" +
+            "p.productId, p.productName, p.image, p.description, p.quantity, " +
+            "p.price, p.discount, p.specialPrice, c.categoryName) " +
+            "FROM Product p LEFT JOIN p.category c";
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT count(p) FROM Product p")
+    Page<ProductSummary> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT)
+    List<ProductSummary> findAllSummaries(Sort sort);
+
+    @Query(value = SUMMARY_SELECT + " WHERE c.categoryName LIKE ?1",
+            countQuery = "SELECT count(p) FROM Product p JOIN p.category c WHERE c.categoryName LIKE ?1")
+    Page<ProductSummary> findSummariesByCategoryName(String categoryName, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE c.categoryId = ?1 ORDER BY p.price ASC",
+            countQuery = "SELECT count(p) FROM Product p WHERE p.category.categoryId = ?1")
+    Page<ProductSummary> findSummariesByCategoryId(Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE p.productId IN ?1")
+    List<ProductSummary> findSummariesByProductIdIn(Collection<Long> productIds);
 }
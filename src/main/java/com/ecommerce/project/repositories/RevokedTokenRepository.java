@@ -0,0 +1,17 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < ?1")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+
+    @Modifying
+    @Query("INSERT INTO StoredImage (fileName, digest, sizeBytes, refCount, createdAt) VALUES (?1, ?2, ?3, 1, ?4)")
+    int insert(String fileName, String digest, Long sizeBytes, Instant createdAt);
+
+    @Modifying
+    @Query("UPDATE StoredImage i SET i.refCount = i.refCount + 1 WHERE i.fileName = ?1")
+    int retain(String fileName);
+
+    @Modifying
+    @Query("UPDATE StoredImage i SET i.refCount = i.refCount - 1 WHERE i.fileName = ?1 AND i.refCount > 0")
+    int release(String fileName);
+
+    @Modifying
+    @Query("DELETE FROM StoredImage i WHERE i.fileName = ?1 AND i.refCount = 0")
+    int deleteUnreferenced(String fileName);
+}
@@ -2,6 +2,8 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +16,11 @@ public interface UserRepository extends JpaRepository<User,Long> {
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.userId = ?1")
+    Optional<Integer> findTokenVersionByUserId(Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1 WHERE u.userId = ?1")
+    void incrementTokenVersion(Long userId);
 }
@@ -0,0 +1,361 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductSummary;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.KeysetCursor;
+import com.ecommerce.project.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int NAME_TERM_WEIGHT = 6;
+    private static final int NAME_PREFIX_WEIGHT = 4;
+    private static final int DESCRIPTION_TERM_WEIGHT = 2;
+    private static final int DESCRIPTION_PREFIX_WEIGHT = 1;
+
+    private final ProductRepository productRepository;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductSummary> products = productRepository.findAllSummaries(Sort.unsorted());
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            products.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Product search index built with {} products and {} terms", documents.size(), postings.size());
+    }
+
+    public void index(Product product) {
+        IndexedProduct document = IndexedProduct.of(product);
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                evict(document.productId());
+                put(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long productId) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                evict(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void renameCategory(String previousName, String categoryName) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.replaceAll((productId, document) -> Objects.equals(document.categoryName(), previousName)
+                        ? document.withCategoryName(categoryName)
+                        : document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Long> search(String keyword, String category, String sortBy, String sortOrder) {
+        List<String> queryTerms = tokenize(keyword);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Comparator<Map.Entry<Long, Integer>> comparator = comparator(sortBy, sortOrder);
+
+        lock.readLock().lock();
+        try {
+            return score(queryTerms).entrySet().stream()
+                    .filter(entry -> inCategory(entry.getKey(), category))
+                    .sorted(comparator)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> scroll(String keyword, String category, String sortBy, String sortOrder, KeysetCursor after, int limit) {
+        List<String> queryTerms = tokenize(keyword);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Comparator<IndexedProduct> order = keysetOrder(sortBy, sortOrder.equalsIgnoreCase("asc"));
+        IndexedProduct from = after == null ? null : IndexedProduct.of(after);
+
+        lock.readLock().lock();
+        try {
+            return score(queryTerms).keySet().stream()
+                    .filter(productId -> inCategory(productId, category))
+                    .map(documents::get)
+                    .filter(document -> from == null || order.compare(document, from) > 0)
+                    .sorted(order)
+                    .limit(limit)
+                    .map(IndexedProduct::productId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(String keyword, String category) {
+        List<String> queryTerms = tokenize(keyword);
+        if (queryTerms.isEmpty()) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            return score(queryTerms).keySet().stream()
+                    .filter(productId -> inCategory(productId, category))
+                    .count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> score(List<String> queryTerms) {
+        Map<Long, Integer> scores = null;
+        for (String term : queryTerms) {
+            Map<Long, Integer> matches = postings.getOrDefault(term, Map.of());
+            if (scores == null) {
+                scores = new HashMap<>(matches);
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((productId, score) -> score + matches.get(productId));
+            }
+            if (scores.isEmpty()) {
+                return scores;
+            }
+        }
+        return scores;
+    }
+
+    private boolean inCategory(Long productId, String category) {
+        return category == null || category.isEmpty() || category.equals(documents.get(productId).categoryName());
+    }
+
+    private static Comparator<IndexedProduct> keysetOrder(String sortBy, boolean ascending) {
+        Comparator<String> names = ascending ? String.CASE_INSENSITIVE_ORDER : String.CASE_INSENSITIVE_ORDER.reversed();
+        Comparator<Double> numbers = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        Comparator<IndexedProduct> byId = ascending
+                ? Comparator.comparing(IndexedProduct::productId)
+                : Comparator.comparing(IndexedProduct::productId).reversed();
+
+        Comparator<IndexedProduct> byField = switch (sortBy) {
+            case "productId" -> (left, right) -> 0;
+            case "productName" -> Comparator.comparing(IndexedProduct::productName, Comparator.nullsLast(names));
+            case "price" -> Comparator.comparing(IndexedProduct::price, Comparator.nullsLast(numbers));
+            case "specialPrice" -> Comparator.comparing(IndexedProduct::specialPrice, Comparator.nullsLast(numbers));
+            case "discount" -> Comparator.comparing(IndexedProduct::discount, Comparator.nullsLast(numbers));
+            default -> throw new APIException("Search results cannot be scrolled by " + sortBy);
+        };
+        return byField.thenComparing(byId);
+    }
+
+    private Comparator<Map.Entry<Long, Integer>> comparator(String sortBy, String sortOrder) {
+        Comparator<Map.Entry<Long, Integer>> byRelevance = Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry::getKey);
+
+        if (AppConstants.SORT_PRODUCTS_BY_RELEVANCE.equalsIgnoreCase(sortBy)) {
+            return byRelevance;
+        }
+
+        Comparator<IndexedProduct> byField = switch (sortBy) {
+            case "productId" -> Comparator.comparing(IndexedProduct::productId);
+            case "productName" -> Comparator.comparing(IndexedProduct::productName,
+                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            case "price" -> Comparator.comparing(IndexedProduct::price, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "specialPrice" -> Comparator.comparing(IndexedProduct::specialPrice,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case "discount" -> Comparator.comparing(IndexedProduct::discount,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            default -> throw new APIException("Search results cannot be sorted by " + sortBy);
+        };
+
+        if (!sortOrder.equalsIgnoreCase("asc")) {
+            byField = byField.reversed();
+        }
+
+        Comparator<IndexedProduct> fieldComparator = byField;
+        Comparator<Map.Entry<Long, Integer>> comparator =
+                (left, right) -> fieldComparator.compare(documents.get(left.getKey()), documents.get(right.getKey()));
+        return comparator.thenComparing(byRelevance);
+    }
+
+    private void put(ProductSummary product) {
+        put(IndexedProduct.of(product));
+    }
+
+    private void put(IndexedProduct document) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, document.productName(), NAME_TERM_WEIGHT, NAME_PREFIX_WEIGHT);
+        addTerms(weights, document.description(), DESCRIPTION_TERM_WEIGHT, DESCRIPTION_PREFIX_WEIGHT);
+
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.productId(), weight));
+
+        documents.put(document.productId(), document.withTerms(weights.keySet()));
+    }
+
+    private void evict(Long productId) {
+        IndexedProduct previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+
+        for (String term : previous.terms()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(productId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int termWeight, int prefixWeight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, termWeight, Math::max);
+            for (int length = MIN_PREFIX_LENGTH; length < token.length(); length++) {
+                weights.merge(token.substring(0, length), prefixWeight, Math::max);
+            }
+        }
+    }
+
+    public static boolean matches(String keyword, String... texts) {
+        List<String> tokens = new ArrayList<>();
+        for (String text : texts) {
+            tokens.addAll(tokenize(text));
+        }
+
+        return tokenize(keyword).stream().allMatch(term -> tokens.stream().anyMatch(token ->
+                token.equals(term) || (term.length() >= MIN_PREFIX_LENGTH && token.startsWith(term))));
+    }
+
+    public static Set<String> terms(String... texts) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String text : texts) {
+            addTerms(weights, text, 1, 1);
+        }
+        return weights.keySet();
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedProduct(Long productId,
+                                  String productName,
+                                  String description,
+                                  String categoryName,
+                                  Double price,
+                                  Double specialPrice,
+                                  Double discount,
+                                  Set<String> terms) {
+
+        static IndexedProduct of(Product product) {
+            return new IndexedProduct(
+                    product.getProductId(),
+                    product.getProductName(),
+                    product.getDescription(),
+                    product.getCategory() != null ? product.getCategory().getCategoryName() : null,
+                    product.getPrice(),
+                    product.getSpecialPrice(),
+                    product.getDiscount(),
+                    Set.of());
+        }
+
+        static IndexedProduct of(ProductSummary product) {
+            return new IndexedProduct(
+                    product.getProductId(),
+                    product.getProductName(),
+                    product.getDescription(),
+                    product.getCategoryName(),
+                    product.getPrice(),
+                    product.getSpecialPrice(),
+                    product.getDiscount(),
+                    Set.of());
+        }
+
+        static IndexedProduct of(KeysetCursor cursor) {
+            String sortBy = cursor.sortBy();
+            Double number = sortBy.equals("productId") || sortBy.equals("productName") ? null : cursor.numericValue();
+            return new IndexedProduct(
+                    cursor.id(),
+                    sortBy.equals("productName") ? cursor.value() : null,
+                    null,
+                    null,
+                    sortBy.equals("price") ? number : null,
+                    sortBy.equals("specialPrice") ? number : null,
+                    sortBy.equals("discount") ? number : null,
+                    Set.of());
+        }
+
+        IndexedProduct withCategoryName(String categoryName) {
+            return new IndexedProduct(productId, productName, description, categoryName,
+                    price, specialPrice, discount, terms);
+        }
+
+        IndexedProduct withTerms(Set<String> terms) {
+            return new IndexedProduct(productId, productName, description, categoryName,
+                    price, specialPrice, discount, Set.copyOf(terms));
+        }
+    }
+}
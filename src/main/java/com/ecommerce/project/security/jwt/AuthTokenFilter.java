@@ -1,6 +1,7 @@
 package com.ecommerce.project.security.jwt;
 
 import com.ecommerce.project.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,10 +34,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         logger.debug("AuthTokenFilter called for URI : {}", request.getRequestURI());
 
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwt(jwt);
-                UserDetails userDetails = userDetailsServiceImpl.loadUserByUsername(username);
+            String jwt = jwtUtils.getJwtToken(request);
+            Claims claims = jwt != null ? jwtUtils.getVerifiedClaims(jwt) : null;
+            if (claims != null) {
+                UserDetails userDetails = jwtUtils.getUserDetailsFromClaims(claims);
+                if (userDetails == null) {
+                    userDetails = userDetailsServiceImpl.loadUserByUsername(claims.getSubject());
+                }
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
@@ -51,13 +55,4 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-
-    private String parseJwt(HttpServletRequest request) {
-        String jwtFromCookie = jwtUtils.getJwtTokenFromCookies(request);
-        if (jwtFromCookie != null) {
-            return jwtFromCookie;
-        }
-
-        return jwtUtils.getJwtTokenFromHeader(request);
-    }
 }
@@ -1,29 +1,63 @@
 package com.ecommerce.project.security.jwt;
 
+import com.ecommerce.project.security.services.TokenVersionService;
 import com.ecommerce.project.security.services.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String USER_ID_CLAIM = "id";
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final TokenVersionService tokenVersionService;
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.app.jwtExpirationMs}")
     private Integer jwtExpirationMs;
 
@@ -33,6 +67,38 @@ public class JwtUtils {
     @Value("${spring.app.jwtCookie}")
     private String jwtCookie;
 
+    @Value("${jwt.statelessPrincipal}")
+    private boolean statelessPrincipal;
+
+    @Value("${jwt.cache.maxSize}")
+    private long verifiedTokenCacheSize;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+    private Map<ValidationOutcome, Counter> validationOutcomes;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+
+        validationOutcomes = new EnumMap<>(ValidationOutcome.class);
+        for (ValidationOutcome outcome : ValidationOutcome.values()) {
+            validationOutcomes.put(outcome, Counter.builder("jwt.validations")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+    }
+
     public String getJwtTokenFromCookies(HttpServletRequest request) {
         Cookie cookie = WebUtils.getCookie(request, jwtCookie);
 
@@ -53,8 +119,19 @@ public class JwtUtils {
         }
     }
 
+    public String getJwtToken(HttpServletRequest request) {
+        String jwtFromCookie = getJwtTokenFromCookies(request);
+        if (jwtFromCookie != null) {
+            return jwtFromCookie;
+        }
+
+        return getJwtTokenFromHeader(request);
+    }
+
     public ResponseCookie generateJwtCookies(UserDetailsImpl userDetails) {
-        String jwt = generateTokenFromUsername(userDetails.getUsername());
+        String jwt = statelessPrincipal
+                ? generateTokenFromUserDetails(userDetails)
+                : generateTokenFromUsername(userDetails.getUsername());
 
         return ResponseCookie.from(jwtCookie, jwt)
                 .path("/api")
@@ -71,43 +148,155 @@ public class JwtUtils {
 
     public String generateTokenFromUsername(String username) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(new Date().getTime() + this.jwtExpirationMs))
-                .signWith(key())
+                .signWith(key)
                 .compact();
     }
 
+    public String generateTokenFromUserDetails(UserDetailsImpl userDetails) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(userDetails.getUsername())
+                .claim(USER_ID_CLAIM, userDetails.getId())
+                .claim(EMAIL_CLAIM, userDetails.getEmail())
+                .claim(ROLES_CLAIM, roles)
+                .claim(TOKEN_VERSION_CLAIM, tokenVersionService.currentVersion(userDetails.getId()))
+                .issuedAt(new Date())
+                .expiration(new Date(new Date().getTime() + this.jwtExpirationMs))
+                .signWith(key)
+                .compact();
+    }
+
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+
+        if (userId == null || tokenVersion == null || roles == null) {
+            return null;
+        }
+
+        if (!tokenVersionService.isCurrent(userId, tokenVersion)) {
+            count(ValidationOutcome.REVOKED);
+            throw new BadCredentialsException("JWT token has been revoked for user id : " + userId);
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+
+        return new UserDetailsImpl(userId, claims.getSubject(), claims.get(EMAIL_CLAIM, String.class), null, authorities);
+    }
+
+    public void revokeToken(String token) {
+        Claims claims = getVerifiedClaims(token);
+        if (claims != null && claims.getId() != null) {
+            tokenVersionService.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+            verifiedTokens.invalidate(hash(token));
+        }
+    }
+
     public String getUsernameFromJwt(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        Claims claims = getVerifiedClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        return key;
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getVerifiedClaims(authToken) != null;
+    }
+
+    public Claims getVerifiedClaims(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            count(ValidationOutcome.EMPTY);
+            return null;
+        }
+
+        String tokenHash = hash(authToken);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return notRevoked(cached, ValidationOutcome.CACHED);
+        }
+
         try {
-            System.out.println("Validate");
-            Jwts.parser()
-                    .verifyWith((SecretKey) key())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            Claims claims = parser.parseSignedClaims(authToken).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+            return notRevoked(claims, ValidationOutcome.VERIFIED);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token : {}", e.getMessage());
+            count(ValidationOutcome.MALFORMED);
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired : {}", e.getMessage());
+            count(ValidationOutcome.EXPIRED);
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported : {}", e.getMessage());
+            count(ValidationOutcome.UNSUPPORTED);
+        } catch (SignatureException e) {
+            logger.error("JWT signature is invalid : {}", e.getMessage());
+            count(ValidationOutcome.INVALID_SIGNATURE);
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty : {}", e.getMessage());
+            count(ValidationOutcome.EMPTY);
+        }
+        return null;
+    }
+
+    private Claims notRevoked(Claims claims, ValidationOutcome outcome) {
+        if (claims.getId() != null && tokenVersionService.isRevoked(claims.getId())) {
+            logger.error("JWT token has been revoked : {}", claims.getId());
+            count(ValidationOutcome.REVOKED);
+            return null;
+        }
+        count(outcome);
+        return claims;
+    }
+
+    private void count(ValidationOutcome outcome) {
+        validationOutcomes.get(outcome).increment();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private enum ValidationOutcome {
+        VERIFIED, CACHED, EMPTY, MALFORMED, EXPIRED, UNSUPPORTED, INVALID_SIGNATURE, REVOKED
+    }
+
+    private static class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenHash, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -0,0 +1,80 @@
+package com.ecommerce.project.security.services;
+
+import com.ecommerce.project.model.RevokedToken;
+import com.ecommerce.project.repositories.RevokedTokenRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+public class TokenVersionService implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final LoadingCache<Long, Integer> versions;
+    private final LoadingCache<String, Boolean> revokedTokens;
+
+    public TokenVersionService(UserRepository userRepository,
+                               RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.version.cacheSeconds}") long cacheSeconds) {
+        this.userRepository = userRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(cacheSeconds))
+                .recordStats()
+                .build(userId -> userRepository.findTokenVersionByUserId(userId).orElse(null));
+        this.revokedTokens = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(cacheSeconds))
+                .recordStats()
+                .build(revokedTokenRepository::existsById);
+    }
+
+    public int currentVersion(Long userId) {
+        Integer version = versions.get(userId);
+        return version != null ? version : 0;
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        Integer version = versions.get(userId);
+        return version != null && version.equals(tokenVersion);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revokedTokens.get(tokenId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, versions, "tokenVersions");
+        CaffeineCacheMetrics.monitor(registry, revokedTokens, "revokedTokens");
+    }
+
+    @Transactional
+    public void revoke(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        TransactionUtils.afterCommit(() -> versions.invalidate(userId));
+    }
+
+    // Denylist entries are only needed until the token expires; expired ones are purged on each signout.
+    @Transactional
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        if (expiresAt.isAfter(now)) {
+            revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        }
+        TransactionUtils.afterCommit(() -> revokedTokens.put(tokenId, true));
+    }
+}
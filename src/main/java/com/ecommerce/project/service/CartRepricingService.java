@@ -0,0 +1,10 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.RepricingStatusDTO;
+
+public interface CartRepricingService {
+
+    RepricingStatusDTO repriceProductInCarts(Long productId, Double productPrice);
+
+    RepricingStatusDTO getRepricingStatus(Long productId);
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.execution.WorkerThreads;
+import com.ecommerce.project.payload.RepricingStatusDTO;
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.repositories.CartRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Service
+public class CartRepricingServiceImpl implements CartRepricingService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartRepricingServiceImpl.class);
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean async;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Cache<Long, RepricingStatusDTO> statuses;
+
+    public CartRepricingServiceImpl(CartRepository cartRepository,
+                                    CartItemRepository cartItemRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    WorkerThreads workerThreads,
+                                    @Value("${cart.repricing.async}") boolean async,
+                                    @Value("${cart.repricing.batchSize}") int batchSize,
+                                    @Value("${cart.repricing.queueCapacity}") int queueCapacity,
+                                    @Value("${cart.repricing.status.maxSize}") long statusMaxSize,
+                                    @Value("${cart.repricing.status.ttlSeconds}") long statusTtlSeconds) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.async = async;
+        this.batchSize = batchSize;
+        this.executor = workerThreads.newPool("cart-repricing", 1, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(statusMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(statusTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public RepricingStatusDTO repriceProductInCarts(Long productId, Double productPrice) {
+        long totalItems = cartItemRepository.countByProductId(productId);
+        RepricingStatusDTO status = new RepricingStatusDTO(productId, productPrice, "RUNNING",
+                totalItems, 0L, Instant.now(), null);
+        statuses.put(productId, status);
+
+        if (totalItems == 0) {
+            return complete(status, 0L, "COMPLETED");
+        }
+
+        if (async) {
+            executor.execute(() -> reprice(status));
+            return status;
+        }
+
+        return reprice(status);
+    }
+
+    @Override
+    public RepricingStatusDTO getRepricingStatus(Long productId) {
+        RepricingStatusDTO status = statuses.getIfPresent(productId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Repricing", "productId", productId);
+        }
+        return status;
+    }
+
+    private RepricingStatusDTO reprice(RepricingStatusDTO status) {
+        Long productId = status.getProductId();
+        Double productPrice = status.getProductPrice();
+        long repricedCarts = 0;
+
+        try {
+            Long lastCartId = 0L;
+            List<Long> cartIds = cartItemRepository.findCartIdsByProductIdAfter(productId, lastCartId, Limit.of(batchSize));
+
+            while (!cartIds.isEmpty()) {
+                List<Long> batch = cartIds;
+                transactionTemplate.executeWithoutResult(tx -> {
+                    cartRepository.repriceProductInCartTotals(productId, productPrice, batch);
+                    cartItemRepository.updateProductPriceInCarts(productId, productPrice, batch);
+                });
+
+                repricedCarts += batch.size();
+                statuses.put(productId, new RepricingStatusDTO(productId, productPrice, "RUNNING",
+                        status.getTotalItems(), repricedCarts, status.getStartedAt(), null));
+
+                lastCartId = batch.get(batch.size() - 1);
+                cartIds = batch.size() < batchSize
+                        ? List.of()
+                        : cartItemRepository.findCartIdsByProductIdAfter(productId, lastCartId, Limit.of(batchSize));
+            }
+
+            return complete(status, repricedCarts, "COMPLETED");
+        } catch (RuntimeException e) {
+            logger.error("Repricing of product {} failed after {} carts : {}", productId, repricedCarts, e.getMessage());
+            complete(status, repricedCarts, "FAILED");
+            throw e;
+        }
+    }
+
+    private RepricingStatusDTO complete(RepricingStatusDTO status, long repricedCarts, String result) {
+        RepricingStatusDTO completed = new RepricingStatusDTO(status.getProductId(), status.getProductPrice(), result,
+                status.getTotalItems(), repricedCarts, status.getStartedAt(), Instant.now());
+        statuses.put(status.getProductId(), completed);
+        return completed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "cartRepricing", Tags.empty()).bindTo(registry);
+        CaffeineCacheMetrics.monitor(registry, statuses, "cartRepricingStatuses");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,14 +1,18 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
 import jakarta.transaction.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CartService {
     CartDTO addProductToCart(Long productId, Integer quantity);
 
-    List<CartDTO> getAllCarts();
+    CartResponse getAllCarts(Integer pageNumber, Integer pageSize);
+
+    void exportCarts(int chunkSize, Consumer<List<CartDTO>> chunkConsumer);
 
     CartDTO getCart(String email, Long cartId);
 
@@ -16,6 +20,4 @@ public interface CartService {
     CartDTO updateProductQuantityInCart(Long productId, Integer quantity);
 
     String deleteProductFromCart(Long cartId, Long productId);
-
-    void updateProductInCarts(Long cartId, Long productId);
 }
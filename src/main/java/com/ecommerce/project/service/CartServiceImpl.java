@@ -8,21 +8,30 @@ import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
 import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.ProductRepository;
 import com.ecommerce.project.util.AuthUtil;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "cart.operations", histogram = true)
 public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
@@ -32,6 +41,7 @@ public class CartServiceImpl implements CartService {
     private final CartMapper cartMapper;
     private final AuthUtil authUtil;
     private final ProductMapper productMapper;
+    private final InventoryService inventoryService;
 
     @Transactional
     @Override
@@ -42,18 +52,19 @@ public class CartServiceImpl implements CartService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(productId, cart.getCartId());
+        CartItem cartItem = findCartItem(cart, productId);
         if (cartItem != null) {
             throw new APIException("Product " + product.getProductName() + " already exists in the cart");
         }
 
-        if (product.getQuantity() == 0) {
+        int available = inventoryService.available(product);
+        if (available == 0) {
             throw new APIException("Product " + product.getProductName() + " not available");
         }
 
-        if (product.getQuantity() < quantity) {
+        if (available < quantity) {
             throw new APIException("Please, make and order of the "
-                    + product.getProductName() + " less than or equal to " + product.getQuantity());
+                    + product.getProductName() + " less than or equal to " + available);
         }
 
         CartItem newCartItem = CartItem.builder()
@@ -70,89 +81,89 @@ public class CartServiceImpl implements CartService {
         cart.setTotalPrice(cart.getTotalPrice() + product.getSpecialPrice() * quantity);
 
         cartRepository.save(cart);
-        CartDTO cartDTO = cartMapper.toDTO(cart);
+        return toCartDTO(cart);
+    }
+
+    @Override
+    public CartResponse getAllCarts(Integer pageNumber, Integer pageSize) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("cartId").ascending());
+        Page<Long> cartIdPage = cartRepository.findCartIds(pageable);
 
-        List<CartItem> cartItems = cart.getCartItems();
-        List<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO map = productMapper.toDTO(item.getProduct());
-            map.setQuantity(item.getQuantity());
+        if (cartIdPage.isEmpty()) {
+            throw new APIException("No carts found");
+        }
 
-            return map;
-        }).toList();
+        List<CartDTO> cartDTOS = findCartDTOs(cartIdPage.getContent());
 
-        cartDTO.setProducts(productStream);
-        return cartDTO;
+        CartResponse cartResponse = new CartResponse();
+        cartResponse.setContent(cartDTOS);
+        cartResponse.setPageNumber(cartIdPage.getNumber());
+        cartResponse.setPageSize(cartIdPage.getSize());
+        cartResponse.setTotalElements(cartIdPage.getTotalElements());
+        cartResponse.setTotalPages(cartIdPage.getTotalPages());
+        cartResponse.setLastPage(cartIdPage.isLast());
+
+        return cartResponse;
     }
 
-    @Transactional
     @Override
-    public List<CartDTO> getAllCarts() {
-        List<Cart> carts = cartRepository.findAll();
+    public void exportCarts(int chunkSize, Consumer<List<CartDTO>> chunkConsumer) {
+        Long lastCartId = 0L;
+        List<Long> cartIds = cartRepository.findCartIdsAfter(lastCartId, Limit.of(chunkSize));
 
-        if (carts.isEmpty()) {
-            throw new APIException("No carts found");
-        }
+        while (!cartIds.isEmpty()) {
+            chunkConsumer.accept(findCartDTOs(cartIds));
 
-        List<CartDTO> cartDTOS = carts.stream()
-                .map(cart -> {
-                    CartDTO cartDTO = cartMapper.toDTO(cart);
-                    List<ProductDTO> productDTOS = cart.getCartItems().stream()
-                            .map(cartItem -> {
-                                ProductDTO productDTO = productMapper.toDTO(cartItem.getProduct());
-                                productDTO.setQuantity(cartItem.getQuantity());
-                                return productDTO;
-                            }).toList();
-                    cartDTO.setProducts(productDTOS);
-                    return cartDTO;
-                }).toList();
+            lastCartId = cartIds.get(cartIds.size() - 1);
+            cartIds = cartIds.size() < chunkSize
+                    ? List.of()
+                    : cartRepository.findCartIdsAfter(lastCartId, Limit.of(chunkSize));
+        }
+    }
 
-        return cartDTOS;
+    private List<CartDTO> findCartDTOs(List<Long> cartIds) {
+        return cartRepository.findAllWithItemsByCartIdIn(cartIds).stream()
+                .sorted(Comparator.comparing(Cart::getCartId))
+                .map(this::toCartDTO)
+                .toList();
     }
 
     @Transactional
     @Override
     public CartDTO getCart(String email, Long cartId) {
-        Cart cart = cartRepository.findCartByEmailAndCart(email, cartId);
+        Cart cart = cartRepository.findCartWithItemsByEmailAndCart(email, cartId);
 
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "cartId", cartId);
         }
 
-        CartDTO cartDTO = cartMapper.toDTO(cart);
-        List<ProductDTO> productDTOS = cart.getCartItems().stream()
-                .map(item -> {
-                    ProductDTO productDTO = productMapper.toDTO(item.getProduct());
-                    productDTO.setQuantity(item.getQuantity());
-                    return productDTO;
-                }).toList();
-        cartDTO.setProducts(productDTOS);
-
-        return cartDTO;
+        return toCartDTO(cart);
     }
 
     @Transactional
     @Override
     public CartDTO updateProductQuantityInCart(Long productId, Integer quantity) {
         String emailId = authUtil.loggedInEmail();
-        Cart userCart = cartRepository.findCartByEmail(emailId);
-        Long cartId = userCart.getCartId();
-
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", userCart.getCartId()));
+        Cart cart = cartRepository.findCartWithItemsByEmail(emailId);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart", "email", emailId);
+        }
+        Long cartId = cart.getCartId();
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
-        if (product.getQuantity() == 0) {
+        int available = inventoryService.available(product);
+        if (available == 0) {
             throw new APIException("Product " + product.getProductName() + " not available");
         }
 
-        if (product.getQuantity() < quantity) {
+        if (available < quantity) {
             throw new APIException("Please, make and order of the "
-                    + product.getProductName() + " less than or equal to " + product.getQuantity());
+                    + product.getProductName() + " less than or equal to " + available);
         }
 
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
+        CartItem cartItem = findCartItem(cart, productId);
 
         if (cartItem == null) {
             throw new APIException("Product " + product.getProductName() + " not available");
@@ -173,17 +184,7 @@ public class CartServiceImpl implements CartService {
             cartItemRepository.save(cartItem);
         }
 
-        CartDTO cartDTO = cartMapper.toDTO(cart);
-        List<CartItem> cartItems = cart.getCartItems();
-        Stream<ProductDTO> productDTOS = cartItems.stream()
-                .map(item -> {
-                    ProductDTO map = productMapper.toDTO(item.getProduct());
-                    map.setQuantity(item.getQuantity());
-                    return map;
-                });
-
-        cartDTO.setProducts(productDTOS.toList());
-        return cartDTO;
+        return toCartDTO(cart);
     }
 
     @Transactional
@@ -208,31 +209,27 @@ public class CartServiceImpl implements CartService {
         return "Product " + cartItem.getProduct().getProductName() + " has been removed form the cart";
     }
 
-    @Override
-    public void updateProductInCarts(Long cartId, Long productId) {
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
-
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
-
-        if (cartItem == null) {
-            throw new APIException("Product " + product.getProductName() + " not available");
-        }
-
-        double cartPrice = cart.getTotalPrice() - (cartItem.getProductPrice() * cartItem.getQuantity());
-        cartItem.setProductPrice(product.getSpecialPrice());
-
-        cart.setTotalPrice(cartPrice +  (cartItem.getProductPrice() * cartItem.getQuantity()));
+    CartDTO toCartDTO(Cart cart) {
+        CartDTO cartDTO = cartMapper.toDTO(cart);
+        List<ProductDTO> productDTOS = cart.getCartItems().stream()
+                .map(item -> {
+                    ProductDTO productDTO = productMapper.toDTO(item.getProduct());
+                    productDTO.setQuantity(item.getQuantity());
+                    return productDTO;
+                }).toList();
+        cartDTO.setProducts(productDTOS);
+        return cartDTO;
+    }
 
-        cartItemRepository.save(cartItem);
-        cartRepository.save(cart);
+    private static CartItem findCartItem(Cart cart, Long productId) {
+        return cart.getCartItems().stream()
+                .filter(item -> item.getProduct().getProductId().equals(productId))
+                .findFirst()
+                .orElse(null);
     }
 
     private Cart createCart() {
-        Cart userCart = cartRepository.findCartByEmail(authUtil.loggedInEmail());
+        Cart userCart = cartRepository.findCartWithItemsByEmail(authUtil.loggedInEmail());
         if (userCart != null) {
             return userCart;
         }
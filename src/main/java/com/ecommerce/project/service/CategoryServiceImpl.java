@@ -1,5 +1,6 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.cache.ProductCatalogCache;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.mapper.CategoryMapper;
@@ -7,6 +8,7 @@ import com.ecommerce.project.model.Category;
 import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,6 +23,8 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCatalogCache productCatalogCache;
 
     private final CategoryMapper categoryMapper;
 
@@ -68,13 +72,16 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public CategoryDTO updateCategory(CategoryDTO categoryDTO, Long categoryId) {
-        categoryRepository.findById(categoryId)
+        Category categoryFromDb = categoryRepository.findById(categoryId)
         .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+        String previousName = categoryFromDb.getCategoryName();
 
         Category category = categoryMapper.toEntity(categoryDTO);
 
         category.setCategoryId(categoryId);
         Category updatedCategory = categoryRepository.save(category);
+        productSearchIndex.renameCategory(previousName, updatedCategory.getCategoryName());
+        productCatalogCache.evictCategory(categoryId, previousName, updatedCategory.getCategoryName());
         return categoryMapper.toDTO(updatedCategory);
     }
 
@@ -84,6 +91,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
         categoryRepository.delete(category);
+        productCatalogCache.evictCategory(categoryId, category.getCategoryName());
         return categoryMapper.toDTO(category);
     }
 }
@@ -6,4 +6,6 @@ import java.io.IOException;
 
 public interface FileService {
     String uploadImage(String path, MultipartFile file) throws IOException;
+
+    void releaseImage(String path, String fileName);
 }
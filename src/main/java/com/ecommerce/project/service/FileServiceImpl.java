@@ -1,31 +1,168 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.image.ImageVariant;
+import com.ecommerce.project.image.ImageVariantPipeline;
+import com.ecommerce.project.repositories.StoredImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
 
 @Service
 public class FileServiceImpl implements FileService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileServiceImpl.class);
+
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final StoredImageRepository storedImageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate releaseTransaction;
+    private final ImageVariantPipeline imageVariantPipeline;
+
+    private final ReentrantLock[] locks = createLocks();
+
+    public FileServiceImpl(StoredImageRepository storedImageRepository,
+                           TransactionTemplate transactionTemplate,
+                           ImageVariantPipeline imageVariantPipeline) {
+        this.storedImageRepository = storedImageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.imageVariantPipeline = imageVariantPipeline;
+
+        // Releases run after the caller's commit, when its finished transaction is still bound to the thread.
+        this.releaseTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.releaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Override
     public String uploadImage(String path, MultipartFile file) throws IOException {
-        String originalFileName = file.getOriginalFilename();
+        String extension = extension(file.getOriginalFilename());
+        Path root = Paths.get(path).toAbsolutePath();
+        Files.createDirectories(root);
+
+        Path temporary = Files.createTempFile(root, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(input, temporary, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String fileName = shardedFileName(hash, extension);
+            Path target = root.resolve(fileName);
+
+            ReentrantLock lock = lockFor(fileName);
+            lock.lock();
+            try {
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                retain(fileName, hash, size);
+            } finally {
+                lock.unlock();
+            }
+            return fileName;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public void releaseImage(String path, String fileName) {
+        if (fileName == null) {
+            return;
+        }
 
-        String randomId = UUID.randomUUID().toString();
-        String fileName = randomId.concat(originalFileName.substring(originalFileName.lastIndexOf(".")));
-        String filePath = path + File.separator + fileName;
+        ReentrantLock lock = lockFor(fileName);
+        lock.lock();
+        try {
+            Boolean unreferenced = releaseTransaction.execute(status ->
+                    storedImageRepository.release(fileName) > 0
+                            && storedImageRepository.deleteUnreferenced(fileName) > 0);
+            if (!Boolean.TRUE.equals(unreferenced)) {
+                return;
+            }
 
-        File folder = new File(path);
-        if (!folder.exists()) {
-            folder.mkdir();
+            Path root = Paths.get(path).toAbsolutePath();
+            Files.deleteIfExists(root.resolve(fileName));
+            for (ImageVariant variant : ImageVariant.values()) {
+                Files.deleteIfExists(root.resolve(ImageVariantPipeline.variantFileName(fileName, variant)));
+            }
+            imageVariantPipeline.forget(fileName);
+            logger.info("Removed unreferenced image {}", fileName);
+        } catch (IOException e) {
+            logger.warn("Could not remove unreferenced image {} : {}", fileName, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Could not release image {} : {}", fileName, e.getMessage());
+        } finally {
+            lock.unlock();
         }
+    }
+
+    public static String shardedFileName(String digest, String extension) {
+        return digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest + "." + extension;
+    }
+
+    private void retain(String fileName, String digest, long size) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (storedImageRepository.retain(fileName) == 0) {
+                    storedImageRepository.insert(fileName, digest, size, Instant.now());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.executeWithoutResult(status -> storedImageRepository.retain(fileName));
+        }
+    }
+
+    private ReentrantLock lockFor(String fileName) {
+        return locks[Math.floorMod(fileName.hashCode(), LOCK_STRIPES)];
+    }
 
-        Files.copy(file.getInputStream(), Paths.get(filePath));
-        return fileName;
+    private static String extension(String originalFileName) {
+        int dot = originalFileName == null ? -1 : originalFileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : originalFileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (!EXTENSION.matcher(extension).matches()) {
+            throw new APIException("Image file name must have a valid extension");
+        }
+        return extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
     }
 }
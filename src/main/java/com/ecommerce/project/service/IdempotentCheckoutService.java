@@ -0,0 +1,9 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderRequestDTO;
+
+public interface IdempotentCheckoutService {
+
+    OrderDTO placeOrder(String email, String idempotencyKey, String paymentMethod, OrderRequestDTO orderRequest);
+}
@@ -0,0 +1,189 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.IdempotencyRecord;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.repositories.IdempotencyRecordRepository;
+import com.ecommerce.project.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class IdempotentCheckoutServiceImpl implements IdempotentCheckoutService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentCheckoutServiceImpl.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredOrder> completedOrders;
+    private final Duration retention;
+    private final long purgeIntervalSeconds;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-key-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotentCheckoutServiceImpl(OrderService orderService,
+                                         IdempotencyRecordRepository idempotencyRecordRepository,
+                                         TransactionTemplate transactionTemplate,
+                                         ObjectMapper objectMapper,
+                                         @Value("${idempotency.cache.maxSize}") long maxSize,
+                                         @Value("${idempotency.cache.ttlSeconds}") long ttlSeconds,
+                                         @Value("${idempotency.purgeIntervalSeconds}") long purgeIntervalSeconds) {
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.completedOrders = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.retention = Duration.ofSeconds(ttlSeconds);
+        this.purgeIntervalSeconds = purgeIntervalSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // Keys are only honoured for as long as the cache would keep them, so older rows can go.
+    public int purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        return Objects.requireNonNull(transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteCreatedBefore(cutoff)));
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = purgeExpired();
+            if (purged > 0) {
+                logger.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Idempotency key purge failed : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, completedOrders, "idempotentCheckouts");
+    }
+
+    @Override
+    public OrderDTO placeOrder(String email, String idempotencyKey, String paymentMethod, OrderRequestDTO orderRequest) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new APIException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String recordKey = sha256(email, idempotencyKey);
+        String requestHash = sha256(paymentMethod,
+                String.valueOf(orderRequest.getAddressId()),
+                orderRequest.getPgPaymentId(),
+                orderRequest.getPgStatus(),
+                orderRequest.getPgResponseMessage(),
+                orderRequest.getPgName());
+
+        OrderDTO previous = findCompletedOrder(recordKey, requestHash);
+        if (previous != null) {
+            return previous;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                idempotencyRecordRepository.claim(recordKey, email, requestHash, Instant.now());
+
+                OrderDTO orderDTO = orderService.placeOrder(
+                        email,
+                        orderRequest.getAddressId(),
+                        paymentMethod,
+                        orderRequest.getPgPaymentId(),
+                        orderRequest.getPgStatus(),
+                        orderRequest.getPgResponseMessage(),
+                        orderRequest.getPgName());
+
+                idempotencyRecordRepository.complete(recordKey, orderDTO.getOrderId(),
+                        objectMapper.writeValueAsString(orderDTO));
+                TransactionUtils.afterCommit(() ->
+                        completedOrders.put(recordKey, new StoredOrder(requestHash, orderDTO)));
+                return orderDTO;
+            });
+        } catch (DataIntegrityViolationException e) {
+            OrderDTO winner = findCompletedOrder(recordKey, requestHash);
+            if (winner == null) {
+                throw e;
+            }
+            return winner;
+        }
+    }
+
+    private OrderDTO findCompletedOrder(String recordKey, String requestHash) {
+        StoredOrder stored = completedOrders.getIfPresent(recordKey);
+        if (stored == null) {
+            IdempotencyRecord record = idempotencyRecordRepository.findById(recordKey).orElse(null);
+            if (record == null || record.getResponse() == null) {
+                return null;
+            }
+            stored = new StoredOrder(record.getRequestHash(),
+                    objectMapper.readValue(record.getResponse(), OrderDTO.class));
+            completedOrders.put(recordKey, stored);
+        }
+
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new APIException("Idempotency-Key has already been used for a different order request");
+        }
+        return stored.order();
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record StoredOrder(String requestHash, OrderDTO order) {
+    }
+}
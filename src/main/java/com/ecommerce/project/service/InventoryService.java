@@ -0,0 +1,14 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Product;
+
+import java.util.Map;
+
+public interface InventoryService {
+
+    void reserve(Map<Long, Integer> quantities);
+
+    int available(Product product);
+
+    void stockChanged(Long productId, Integer previousQuantity, Integer newQuantity);
+}
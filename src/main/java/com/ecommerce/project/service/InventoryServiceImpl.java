@@ -0,0 +1,78 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.inventory.HotSkuInventory;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final String RESERVE_STOCK =
+            "UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HotSkuInventory hotSkuInventory;
+    private final ProductCatalogCache productCatalogCache;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> hotLines = new TreeMap<>();
+        Map<Long, Integer> lines = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new APIException("Invalid quantity " + quantity + " for product " + productId);
+            }
+            (hotSkuInventory.isHot(productId) ? hotLines : lines).put(productId, quantity);
+        });
+
+        if (!lines.isEmpty()) {
+            reserveInDatabase(new ArrayList<>(lines.entrySet()));
+        }
+
+        if (!hotLines.isEmpty()) {
+            hotSkuInventory.reserve(hotLines);
+        }
+
+        quantities.keySet().forEach(productCatalogCache::evictProduct);
+    }
+
+    @Override
+    public int available(Product product) {
+        if (hotSkuInventory.isHot(product.getProductId())) {
+            return (int) Math.max(hotSkuInventory.available(product.getProductId()), 0);
+        }
+        return product.getQuantity();
+    }
+
+    @Override
+    public void stockChanged(Long productId, Integer previousQuantity, Integer newQuantity) {
+        int delta = (newQuantity == null ? 0 : newQuantity) - (previousQuantity == null ? 0 : previousQuantity);
+        TransactionUtils.afterCommit(() -> hotSkuInventory.adjust(productId, delta));
+    }
+
+    private void reserveInDatabase(List<Map.Entry<Long, Integer>> lines) {
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_STOCK, lines.stream()
+                .map(line -> new Object[]{line.getValue(), line.getKey(), line.getValue()})
+                .toList());
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new APIException("Insufficient stock for product " + lines.get(i).getKey());
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.payload.OrderCursorResponse;
 import com.ecommerce.project.payload.OrderDTO;
 
+import java.time.LocalDate;
+
 public interface OrderService {
 
     OrderDTO placeOrder(String email, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage);
+
+    OrderCursorResponse getOrders(String email, String orderStatus, LocalDate fromDate, LocalDate toDate, String cursor, Integer pageSize);
 }
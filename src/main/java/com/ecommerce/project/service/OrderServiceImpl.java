@@ -5,34 +5,49 @@ import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.mapper.OrderItemMapper;
 import com.ecommerce.project.mapper.OrderMapper;
 import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderCursorResponse;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderItemDTO;
 import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.Expression;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final String ORDER_KEYSET_SORT_BY = "orderDate";
+    private static final String ORDER_KEYSET_SORT_ORDER = "desc";
+
     private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
     private final AddressRepository addressRepository;
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final ProductRepository productRepository;
-    private final CartService cartService;
+    private final InventoryService inventoryService;
 
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
 
     @Transactional
     @Override
+    @Timed(value = "checkout.place_order", histogram = true)
     public OrderDTO placeOrder(String email,
                                Long addressId,
                                String paymentMethod,
@@ -41,11 +56,19 @@ public class OrderServiceImpl implements OrderService {
                                String pgResponseMessage,
                                String pgName) {
 
-        Cart cart = cartRepository.findCartByEmail(email);
+        Cart cart = cartRepository.findCartWithItemsByEmail(email);
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "email", email);
         }
 
+        List<CartItem> cartItems = cart.getCartItems();
+        if (cartItems.isEmpty()) {
+            throw new APIException("Cart is empty");
+        }
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        cartItems.forEach(item -> quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum));
+
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
 
@@ -63,13 +86,7 @@ public class OrderServiceImpl implements OrderService {
 
         Order savedOrder = orderRepository.save(order);
 
-        List<CartItem> cartItems = cart.getCartItems();
-        if (cartItems.isEmpty()) {
-            throw new APIException("Cart is empty");
-        }
-
         List<OrderItem> orderItems = new ArrayList<>();
-        List<Product> productsToUpdate = new ArrayList<>();
 
         for (CartItem cartItem : cartItems) {
             OrderItem orderItem = new OrderItem();
@@ -80,18 +97,16 @@ public class OrderServiceImpl implements OrderService {
             orderItem.setOrderedProductPrice(cartItem.getProductPrice());
             orderItem.setOrder(order);
             orderItems.add(orderItem);
-
-            int quantity = cartItem.getQuantity();
-            Product product = cartItem.getProduct();
-            product.setQuantity(product.getQuantity() - quantity);
         }
 
         orderItemRepository.saveAll(orderItems);
-        productRepository.saveAll(productsToUpdate);
 
-        new ArrayList<>(cart.getCartItems()).forEach(item -> {
-            cartService.deleteProductFromCart(cart.getCartId(), item.getProduct().getProductId());
-        });
+        cartItemRepository.deleteAllByCartItemIdIn(cartItems.stream().map(CartItem::getCartItemId).toList());
+        cartRepository.recalculateTotalPrice(cart.getCartId());
+
+        // The conditional stock updates lock product rows until commit, so they run after every other write.
+        orderItemRepository.flush();
+        inventoryService.reserve(quantities);
 
         List<OrderItemDTO> orderItemDTOS = new ArrayList<>();
         OrderDTO orderDTO = orderMapper.toOrderDTO(savedOrder);
@@ -102,4 +117,95 @@ public class OrderServiceImpl implements OrderService {
 
         return orderDTO;
     }
-}
\ No newline at end of file
+
+    @Transactional
+    @Override
+    public OrderCursorResponse getOrders(String email, String orderStatus, LocalDate fromDate, LocalDate toDate, String cursor, Integer pageSize) {
+
+        if (pageSize == null || pageSize < 1) {
+            throw new APIException("Page size must be at least 1");
+        }
+
+        Specification<Order> spec = getOrderSpecification(email, orderStatus, fromDate, toDate);
+        if (cursor != null && !cursor.isEmpty()) {
+            spec = spec.and(getKeysetSpecification(KeysetCursor.decode(cursor)));
+        }
+
+        List<Order> orders = orderRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "orderDate", "orderId"))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean lastPage = orders.size() <= pageSize;
+        if (!lastPage) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        List<Long> orderIds = orders.stream().map(Order::getOrderId).toList();
+        Map<Long, Order> ordersWithItems = orderIds.isEmpty()
+                ? Map.of()
+                : orderRepository.findAllWithItemsByOrderIdIn(orderIds).stream()
+                        .collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+
+        List<OrderDTO> orderDTOS = orderIds.stream()
+                .map(ordersWithItems::get)
+                .map(order -> {
+                    OrderDTO orderDTO = orderMapper.toOrderDTO(order);
+                    orderDTO.setAddressId(order.getAddress() != null ? order.getAddress().getAddressId() : null);
+                    return orderDTO;
+                }).toList();
+
+        String nextCursor = null;
+        if (!lastPage) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new KeysetCursor(ORDER_KEYSET_SORT_BY, ORDER_KEYSET_SORT_ORDER, last.getOrderId(),
+                    last.getOrderDate().toString()).encode();
+        }
+
+        return new OrderCursorResponse(orderDTOS, pageSize, nextCursor, lastPage);
+    }
+
+    private static Specification<Order> getOrderSpecification(String email, String orderStatus, LocalDate fromDate, LocalDate toDate) {
+        Specification<Order> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+        if (email != null && !email.isEmpty()) {
+            spec = spec.and((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("email"), email));
+        }
+
+        if (orderStatus != null && !orderStatus.isEmpty()) {
+            spec = spec.and((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("orderStatus"), orderStatus));
+        }
+
+        if (fromDate != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("orderDate"), fromDate));
+        }
+
+        if (toDate != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.lessThanOrEqualTo(root.get("orderDate"), toDate));
+        }
+        return spec;
+    }
+
+    private static Specification<Order> getKeysetSpecification(KeysetCursor cursor) {
+        if (!ORDER_KEYSET_SORT_BY.equals(cursor.sortBy()) || !ORDER_KEYSET_SORT_ORDER.equals(cursor.sortOrder())
+                || cursor.value() == null) {
+            throw new APIException("Invalid cursor");
+        }
+
+        LocalDate orderDate;
+        try {
+            orderDate = LocalDate.parse(cursor.value());
+        } catch (DateTimeParseException e) {
+            throw new APIException("Invalid cursor");
+        }
+
+        return (root, query, criteriaBuilder) -> {
+            Expression<LocalDate> date = root.get("orderDate");
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(date, orderDate),
+                    criteriaBuilder.and(criteriaBuilder.equal(date, orderDate),
+                            criteriaBuilder.lessThan(root.get("orderId"), cursor.id())));
+        };
+    }
+}
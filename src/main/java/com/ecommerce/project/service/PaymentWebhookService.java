@@ -0,0 +1,15 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.PaymentCallbackDTO;
+import com.ecommerce.project.payload.PaymentWebhookStatsDTO;
+
+public interface PaymentWebhookService {
+
+    boolean verifySecret(String secret);
+
+    boolean accept(PaymentCallbackDTO callback);
+
+    int flush();
+
+    PaymentWebhookStatsDTO getStats();
+}
@@ -0,0 +1,385 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.PaymentCallbackDTO;
+import com.ecommerce.project.payload.PaymentWebhookStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class PaymentWebhookServiceImpl implements PaymentWebhookService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookServiceImpl.class);
+
+    private static final String UPDATE_PAYMENT =
+            "UPDATE payments SET pg_status = ?, pg_response_message = ?, pg_name = COALESCE(?, pg_name) " +
+            "WHERE pg_payment_id = ? AND (pg_status IS DISTINCT FROM ? OR pg_response_message IS DISTINCT FROM ?) " +
+            "AND " + PaymentStage.sqlRank("pg_status") + " <= ?";
+
+    private static final String UPDATE_ORDER_STATUS =
+            "UPDATE orders SET order_status = ? " +
+            "WHERE payment_id IN (SELECT payment_id FROM payments WHERE pg_payment_id = ? AND pg_status = ?) " +
+            "AND order_status IS DISTINCT FROM ?";
+
+    private static final String SELECT_KNOWN_PAYMENTS = "SELECT pg_payment_id FROM payments WHERE pg_payment_id IN (%s)";
+
+    private static final long MAX_RETRY_BACKOFF_MS = 60_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final byte[] secret;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final ConcurrentHashMap<String, QueuedCallback> pending = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final Lock flushLock = new ReentrantLock();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payment-webhook-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public PaymentWebhookServiceImpl(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${payment.webhook.secret}") String secret,
+                                     @Value("${payment.webhook.queueCapacity}") int capacity,
+                                     @Value("${payment.webhook.batchSize}") int batchSize,
+                                     @Value("${payment.webhook.flushIntervalMs}") long flushIntervalMs,
+                                     @Value("${payment.webhook.maxAttempts}") int maxAttempts,
+                                     @Value("${payment.webhook.retryBackoffMs}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.slots = new Semaphore(capacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean verifySecret(String candidate) {
+        return candidate != null && MessageDigest.isEqual(secret, candidate.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean accept(PaymentCallbackDTO callback) {
+        AtomicBoolean added = new AtomicBoolean();
+        AtomicBoolean full = new AtomicBoolean();
+        QueuedCallback queued = new QueuedCallback(callback, PaymentStage.of(callback.getPgStatus()), 0, 0);
+        pending.compute(callback.getPgPaymentId(), (pgPaymentId, previous) -> {
+            if (previous != null) {
+                return QueuedCallback.latest(previous, queued);
+            }
+            if (!slots.tryAcquire()) {
+                full.set(true);
+                return null;
+            }
+            added.set(true);
+            return queued;
+        });
+
+        if (full.get()) {
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        accepted.incrementAndGet();
+        if (!added.get()) {
+            coalesced.incrementAndGet();
+        }
+
+        if (capacity - slots.availablePermits() >= batchSize) {
+            wakeUp();
+        }
+        return true;
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            int total = 0;
+            long now = System.currentTimeMillis();
+            Iterator<String> pgPaymentIds = pending.keySet().iterator();
+            List<QueuedCallback> retries = new ArrayList<>();
+            List<QueuedCallback> batch;
+            while (!(batch = nextBatch(pgPaymentIds, now)).isEmpty()) {
+                total += apply(batch, retries);
+            }
+            retries.forEach(this::requeue);
+            return total;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public PaymentWebhookStatsDTO getStats() {
+        return new PaymentWebhookStatsDTO(capacity - slots.availablePermits(), capacity, accepted.get(),
+                coalesced.get(), rejected.get(), applied.get(), batches.get(), failedBatches.get(), dropped.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("payment.webhook.queue.size", this, service -> service.capacity - service.slots.availablePermits())
+                .register(registry);
+        Gauge.builder("payment.webhook.queue.capacity", this, service -> service.capacity)
+                .register(registry);
+        callbackCounter(registry, "accepted", accepted);
+        callbackCounter(registry, "coalesced", coalesced);
+        callbackCounter(registry, "rejected", rejected);
+        callbackCounter(registry, "applied", applied);
+        callbackCounter(registry, "dropped", dropped);
+        FunctionCounter.builder("payment.webhook.batches", batches, AtomicLong::get)
+                .tag("outcome", "success")
+                .register(registry);
+        FunctionCounter.builder("payment.webhook.batches", failedBatches, AtomicLong::get)
+                .tag("outcome", "failure")
+                .register(registry);
+    }
+
+    private static void callbackCounter(MeterRegistry registry, String outcome, AtomicLong counter) {
+        FunctionCounter.builder("payment.webhook.callbacks", counter, AtomicLong::get)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private List<QueuedCallback> nextBatch(Iterator<String> pgPaymentIds, long now) {
+        List<QueuedCallback> batch = new ArrayList<>();
+        while (batch.size() < batchSize && pgPaymentIds.hasNext()) {
+            String pgPaymentId = pgPaymentIds.next();
+            QueuedCallback queued = pending.get(pgPaymentId);
+            if (queued != null && queued.notBefore() <= now && pending.remove(pgPaymentId, queued)) {
+                slots.release();
+                batch.add(queued);
+            }
+        }
+        return batch;
+    }
+
+    private int apply(List<QueuedCallback> batch, List<QueuedCallback> retries) {
+        try {
+            List<QueuedCallback> unmatched = transactionTemplate.execute(status -> write(batch));
+            batches.incrementAndGet();
+            return settle(batch, unmatched, retries);
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            logger.error("Applying {} payment callbacks failed, applying them one by one : {}", batch.size(),
+                    e.getMessage());
+        }
+
+        int appliedCallbacks = 0;
+        for (QueuedCallback queued : batch) {
+            try {
+                List<QueuedCallback> unmatched = transactionTemplate.execute(status -> write(List.of(queued)));
+                appliedCallbacks += settle(List.of(queued), unmatched, retries);
+            } catch (RuntimeException e) {
+                retry(queued, retries, e.getMessage());
+            }
+        }
+        return appliedCallbacks;
+    }
+
+    private List<QueuedCallback> write(List<QueuedCallback> batch) {
+        List<Object[]> paymentUpdates = new ArrayList<>(batch.size());
+        List<Object[]> orderUpdates = new ArrayList<>();
+        for (QueuedCallback queued : batch) {
+            PaymentCallbackDTO callback = queued.callback();
+            paymentUpdates.add(new Object[]{callback.getPgStatus(), callback.getPgResponseMessage(), callback.getPgName(),
+                    callback.getPgPaymentId(), callback.getPgStatus(), callback.getPgResponseMessage(),
+                    queued.stage().maxReplacedRank()});
+
+            if (queued.stage().orderStatus != null) {
+                orderUpdates.add(new Object[]{queued.stage().orderStatus, callback.getPgPaymentId(),
+                        callback.getPgStatus(), queued.stage().orderStatus});
+            }
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_PAYMENT, paymentUpdates);
+        if (!orderUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ORDER_STATUS, orderUpdates);
+        }
+
+        List<QueuedCallback> unchanged = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                unchanged.add(batch.get(i));
+            }
+        }
+        if (unchanged.isEmpty()) {
+            return unchanged;
+        }
+
+        // A row that was not updated is either already up to date or not written yet by a checkout still in flight.
+        Set<String> known = new HashSet<>(jdbcTemplate.queryForList(
+                SELECT_KNOWN_PAYMENTS.formatted(String.join(", ", Collections.nCopies(unchanged.size(), "?"))),
+                String.class, unchanged.stream().map(queued -> queued.callback().getPgPaymentId()).toArray()));
+        return unchanged.stream()
+                .filter(queued -> !known.contains(queued.callback().getPgPaymentId()))
+                .toList();
+    }
+
+    private int settle(List<QueuedCallback> batch, List<QueuedCallback> unmatched, List<QueuedCallback> retries) {
+        unmatched.forEach(queued -> retry(queued, retries, "Unknown payment"));
+        applied.addAndGet(batch.size() - unmatched.size());
+        return batch.size() - unmatched.size();
+    }
+
+    private void retry(QueuedCallback queued, List<QueuedCallback> retries, String reason) {
+        int attempts = queued.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            dropped.incrementAndGet();
+            logger.error("Dropping payment callback {} ({}) after {} attempts : {}", queued.callback().getPgPaymentId(),
+                    queued.callback().getPgStatus(), attempts, reason);
+            return;
+        }
+        // Backing off exponentially keeps an unknown payment queued for minutes, long enough for a slow checkout to commit.
+        long backoff = Math.min(retryBackoffMs << Math.min(attempts - 1, 20), MAX_RETRY_BACKOFF_MS);
+        retries.add(new QueuedCallback(queued.callback(), queued.stage(), attempts, System.currentTimeMillis() + backoff));
+    }
+
+    private void requeue(QueuedCallback retry) {
+        AtomicBoolean full = new AtomicBoolean();
+        pending.compute(retry.callback().getPgPaymentId(), (pgPaymentId, current) -> {
+            if (current != null) {
+                return QueuedCallback.latest(retry, current);
+            }
+            if (!slots.tryAcquire()) {
+                full.set(true);
+                return null;
+            }
+            return retry;
+        });
+
+        if (full.get()) {
+            dropped.incrementAndGet();
+            logger.error("Dropping payment callback {} ({}) : queue is full", retry.callback().getPgPaymentId(),
+                    retry.callback().getPgStatus());
+        }
+    }
+
+    private void wakeUp() {
+        if (started.get() && wakeUpPending.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    wakeUpPending.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                wakeUpPending.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Payment callback flush failed : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    private record QueuedCallback(PaymentCallbackDTO callback, PaymentStage stage, int attempts, long notBefore) {
+
+        static QueuedCallback latest(QueuedCallback earlier, QueuedCallback later) {
+            return later.stage().mayReplace(earlier.stage()) ? later : earlier;
+        }
+    }
+
+    /**
+     * Gateway statuses in the order a payment moves through them. A callback only replaces a status of a lower stage,
+     * so a late "processing" callback cannot undo a settled payment. Only pending statuses replace each other.
+     */
+    private enum PaymentStage {
+        PENDING(null),
+        FAILED("Payment Failed", "failed", "declined", "canceled", "cancelled"),
+        SUCCEEDED("Payment Received", "succeeded", "success", "paid", "captured"),
+        REFUNDED("Refunded", "refunded");
+
+        private final String orderStatus;
+        private final List<String> pgStatuses;
+
+        PaymentStage(String orderStatus, String... pgStatuses) {
+            this.orderStatus = orderStatus;
+            this.pgStatuses = List.of(pgStatuses);
+        }
+
+        static PaymentStage of(String pgStatus) {
+            String normalized = pgStatus.toLowerCase(Locale.ROOT);
+            for (PaymentStage stage : values()) {
+                if (stage.pgStatuses.contains(normalized)) {
+                    return stage;
+                }
+            }
+            return PENDING;
+        }
+
+        int maxReplacedRank() {
+            return this == PENDING ? PENDING.ordinal() : ordinal() - 1;
+        }
+
+        boolean mayReplace(PaymentStage previous) {
+            return previous.ordinal() <= maxReplacedRank();
+        }
+
+        static String sqlRank(String column) {
+            StringBuilder sql = new StringBuilder("CASE");
+            for (PaymentStage stage : values()) {
+                if (!stage.pgStatuses.isEmpty()) {
+                    sql.append(" WHEN LOWER(").append(column).append(") IN ('")
+                            .append(String.join("', '", stage.pgStatuses))
+                            .append("') THEN ").append(stage.ordinal());
+                }
+            }
+            return sql.append(" ELSE ").append(PENDING.ordinal()).append(" END").toString();
+        }
+    }
+}
@@ -1,20 +1,29 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.cache.ProductCatalogCache.CatalogQuery;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
-import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.image.ImageVariant;
+import com.ecommerce.project.image.ImageVariantPipeline;
 import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
-import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductCursorResponse;
 import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.payload.ProductSummary;
 import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.util.KeysetCursor;
+import com.ecommerce.project.util.TransactionUtils;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,22 +36,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    private static final Set<String> SCROLLABLE_FIELDS = Set.of("productId", "productName", "price", "specialPrice", "discount");
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
 
     private final FileService fileService;
-    private final CartService cartService;
+    private final CartRepricingService cartRepricingService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCatalogCache productCatalogCache;
+    private final InventoryService inventoryService;
+    private final ImageVariantPipeline imageVariantPipeline;
 
     private final ProductMapper productMapper;
-    private final CartMapper cartMapper;
 
     @Value("${project.image}")
     private String path;
@@ -53,16 +73,41 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductResponse getAllProducts(String keyword, String category, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
 
+        CatalogQuery query = new CatalogQuery(keyword, category, null, pageNumber, pageSize, sortBy, sortOrder);
+        return productCatalogCache.get(query, () -> loadAllProducts(keyword, category, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadAllProducts(String keyword, String category, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+
+        if (keyword != null && !keyword.isEmpty()) {
+            List<Long> productIds = productSearchIndex.search(keyword, category, sortBy, sortOrder);
+            List<ProductSummary> products = findPage(productIds, pageNumber, pageSize);
+
+            if (products.isEmpty()) {
+                throw new APIException("No products found");
+            }
+
+            List<ProductDTO> productDTOS = products.stream()
+                    .map(product -> {
+                        ProductDTO productDTO = productMapper.summaryToDTO(product);
+                        setImageUrls(productDTO, product.getImage());
+                        return productDTO;
+                    }).toList();
+
+            return buildResponse(productDTOS, productIds.size(), pageNumber, pageSize);
+        }
+
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Specification<Product> spec = getProductSpecification(keyword, category);
 
-        Page<Product> productPage = productRepository.findAll(spec, pageable);
+        Page<ProductSummary> productPage = category != null && !category.isEmpty()
+                ? productRepository.findSummariesByCategoryName(category, pageable)
+                : productRepository.findAllSummaries(pageable);
 
-        List<Product> products = productPage.getContent();
+        List<ProductSummary> products = productPage.getContent();
 
         if (products.isEmpty()) {
             throw new APIException("No products found");
@@ -70,8 +115,8 @@ public class ProductServiceImpl implements ProductService {
 
         List<ProductDTO> productDTOS = products.stream()
                 .map(product -> {
-                    ProductDTO productDTO = productMapper.toDTO(product);
-                    productDTO.setImage(constructImageUrl(product.getImage()));
+                    ProductDTO productDTO = productMapper.summaryToDTO(product);
+                    setImageUrls(productDTO, product.getImage());
                     return productDTO;
                 }).toList();
 
@@ -86,7 +131,7 @@ public class ProductServiceImpl implements ProductService {
         return productResponse;
     }
 
-    private static Specification<Product> getProductSpecification(String keyword, String category) {
+    static Specification<Product> getProductSpecification(String keyword, String category) {
         Specification<Product> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
         if (keyword != null && !keyword.isEmpty()) {
             spec = spec.and((root, query, criteriaBuilder) ->
@@ -100,6 +145,147 @@ public class ProductServiceImpl implements ProductService {
         return spec;
     }
 
+    @Override
+    public ProductCursorResponse scrollProducts(String keyword, String category, String cursor, Integer pageSize, String sortBy, String sortOrder, boolean skipCount) {
+
+        if (pageSize == null || pageSize < 1) {
+            throw new APIException("Page size must be at least 1");
+        }
+        if (!SCROLLABLE_FIELDS.contains(sortBy)) {
+            throw new APIException("Products cannot be scrolled by " + sortBy);
+        }
+
+        KeysetCursor keysetCursor = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            keysetCursor = KeysetCursor.decode(cursor);
+            if (!keysetCursor.sortBy().equals(sortBy) || !keysetCursor.sortOrder().equalsIgnoreCase(sortOrder)) {
+                throw new APIException("Cursor does not match sortBy " + sortBy + " and sortOrder " + sortOrder);
+            }
+        }
+
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        boolean keywordSearch = keyword != null && !keyword.isEmpty();
+
+        List<Product> products;
+        boolean lastPage;
+        if (keywordSearch) {
+            List<Long> pageIds = productSearchIndex.scroll(keyword, category, sortBy, sortOrder, keysetCursor, pageSize + 1);
+            lastPage = pageIds.size() <= pageSize;
+            products = findProducts(lastPage ? pageIds : pageIds.subList(0, pageSize));
+        } else {
+            Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            Sort sort = sortBy.equals("productId")
+                    ? Sort.by(direction, "productId")
+                    : Sort.by(new Sort.Order(direction, sortBy).nullsLast(), new Sort.Order(direction, "productId"));
+
+            Specification<Product> spec = getProductSpecification(null, category);
+            if (keysetCursor != null) {
+                spec = spec.and(getKeysetSpecification(keysetCursor, ascending));
+            }
+
+            products = productRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+            lastPage = products.size() <= pageSize;
+            if (!lastPage) {
+                products = products.subList(0, pageSize);
+            }
+        }
+
+        if (products.isEmpty() && keysetCursor == null) {
+            throw new APIException("No products found");
+        }
+
+        List<ProductDTO> productDTOS = products.stream()
+                .map(product -> {
+                    ProductDTO productDTO = productMapper.toDTO(product);
+                    setImageUrls(productDTO, product.getImage());
+                    return productDTO;
+                }).toList();
+
+        String nextCursor = null;
+        if (!lastPage && !products.isEmpty()) {
+            Product last = products.get(products.size() - 1);
+            nextCursor = new KeysetCursor(sortBy, sortOrder, last.getProductId(), getKeysetValue(last, sortBy)).encode();
+        }
+
+        Long totalElements = null;
+        if (!skipCount) {
+            totalElements = keywordSearch
+                    ? productSearchIndex.count(keyword, category)
+                    : productRepository.count(getProductSpecification(null, category));
+        }
+
+        return new ProductCursorResponse(productDTOS, pageSize, nextCursor, totalElements, lastPage);
+    }
+
+    private List<Product> findProducts(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> productsById = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        return productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static Specification<Product> getKeysetSpecification(KeysetCursor cursor, boolean ascending) {
+        return switch (cursor.sortBy()) {
+            case "productId" -> seek("productId", cursor.id(), cursor.id(), ascending);
+            case "productName" -> seek("productName", cursor.value(), cursor.id(), ascending);
+            case "price", "specialPrice", "discount" -> seek(cursor.sortBy(), cursor.numericValue(), cursor.id(), ascending);
+            default -> throw new APIException("Products cannot be scrolled by " + cursor.sortBy());
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<Product> seek(String sortBy, Y value, Long productId, boolean ascending) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<Long> id = root.get("productId");
+            Predicate afterId = ascending
+                    ? criteriaBuilder.greaterThan(id, productId)
+                    : criteriaBuilder.lessThan(id, productId);
+
+            if (sortBy.equals("productId")) {
+                return afterId;
+            }
+
+            Expression<Y> field = root.get(sortBy);
+            if (value == null) {
+                return criteriaBuilder.and(criteriaBuilder.isNull(field), afterId);
+            }
+
+            Predicate afterValue = ascending
+                    ? criteriaBuilder.greaterThan(field, value)
+                    : criteriaBuilder.lessThan(field, value);
+
+            return criteriaBuilder.or(afterValue, criteriaBuilder.isNull(field),
+                    criteriaBuilder.and(criteriaBuilder.equal(field, value), afterId));
+        };
+    }
+
+    private static String getKeysetValue(Product product, String sortBy) {
+        Object value = switch (sortBy) {
+            case "productId" -> product.getProductId();
+            case "productName" -> product.getProductName();
+            case "price" -> product.getPrice();
+            case "specialPrice" -> product.getSpecialPrice();
+            case "discount" -> product.getDiscount();
+            default -> throw new APIException("Products cannot be scrolled by " + sortBy);
+        };
+        return value == null ? null : value.toString();
+    }
+
+    private void setImageUrls(ProductDTO productDTO, String imageName) {
+        Map<String, String> imageVariants = new LinkedHashMap<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            imageVariants.put(variant.suffix(), constructImageUrl(imageVariantPipeline.resolve(imageName, variant)));
+        }
+        productDTO.setImage(imageVariants.get(ImageVariant.THUMBNAIL.suffix()));
+        productDTO.setImageVariants(imageVariants);
+    }
+
     private String constructImageUrl(String imageName) {
         return imageBaseUrl.endsWith("/") ? imageBaseUrl + imageName : imageBaseUrl + "/" + imageName;
     }
@@ -107,6 +293,12 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
 
+        CatalogQuery query = new CatalogQuery(null, null, categoryId, pageNumber, pageSize, sortBy, sortOrder);
+        return productCatalogCache.get(query, () -> loadByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
@@ -115,15 +307,15 @@ public class ProductServiceImpl implements ProductService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByCategoryOrderByPriceAsc(category, pageable);
+        Page<ProductSummary> productPage = productRepository.findSummariesByCategoryId(categoryId, pageable);
 
-        List<Product> products = productPage.getContent();
+        List<ProductSummary> products = productPage.getContent();
 
         if (products.isEmpty()) {
             throw new APIException("No products with category: " + category.getCategoryName());
         }
 
-        List<ProductDTO> productsDTO = productMapper.toDTOs(products);
+        List<ProductDTO> productsDTO = productMapper.summariesToDTOs(products);
 
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productsDTO);
@@ -139,28 +331,50 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductResponse searchByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
 
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        CatalogQuery query = new CatalogQuery(keyword, null, null, pageNumber, pageSize, sortBy, sortOrder);
+        return productCatalogCache.get(query, () -> loadByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder));
+    }
 
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageable);
+    private ProductResponse loadByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
 
-        List<Product> products = productPage.getContent();
+        List<Long> productIds = productSearchIndex.search(keyword, null, sortBy, sortOrder);
+        List<ProductSummary> products = findPage(productIds, pageNumber, pageSize);
 
         if (products.isEmpty()) {
             throw new APIException("No products with keyword: " + keyword);
         }
 
-        List<ProductDTO> productsDTO = productMapper.toDTOs(products);
+        List<ProductDTO> productsDTO = productMapper.summariesToDTOs(products);
+
+        return buildResponse(productsDTO, productIds.size(), pageNumber, pageSize);
+    }
+
+    private List<ProductSummary> findPage(List<Long> productIds, Integer pageNumber, Integer pageSize) {
+        long fromIndex = (long) pageNumber * pageSize;
+        if (fromIndex >= productIds.size()) {
+            return List.of();
+        }
+
+        List<Long> pageIds = productIds.subList((int) fromIndex, (int) Math.min(fromIndex + pageSize, productIds.size()));
+        Map<Long, ProductSummary> productsById = productRepository.findSummariesByProductIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ProductSummary::getProductId, Function.identity()));
+
+        return pageIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static ProductResponse buildResponse(List<ProductDTO> content, int totalElements, Integer pageNumber, Integer pageSize) {
+        int totalPages = (int) Math.ceil((double) totalElements / pageSize);
 
         ProductResponse productResponse = new ProductResponse();
-        productResponse.setContent(productsDTO);
-        productResponse.setPageNumber(productPage.getNumber());
-        productResponse.setPageSize(productPage.getSize());
-        productResponse.setTotalElements(productPage.getTotalElements());
-        productResponse.setTotalPages(productPage.getTotalPages());
-        productResponse.setLastPage(productPage.isLast());
+        productResponse.setContent(content);
+        productResponse.setPageNumber(pageNumber);
+        productResponse.setPageSize(pageSize);
+        productResponse.setTotalElements((long) totalElements);
+        productResponse.setTotalPages(totalPages);
+        productResponse.setLastPage(pageNumber + 1 >= totalPages);
 
         return productResponse;
     }
@@ -183,6 +397,9 @@ public class ProductServiceImpl implements ProductService {
         product.setSpecialPrice(product.getPrice() - (product.getDiscount() * 0.01) * product.getPrice());
 
         Product savedProduct = productRepository.save(product);
+        productSearchIndex.index(savedProduct);
+        productCatalogCache.evictListings(savedProduct.getProductId(), category,
+                savedProduct.getProductName(), savedProduct.getDescription());
         return productMapper.toDTO(savedProduct);
     }
 
@@ -193,6 +410,10 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
         Product product = productMapper.toEntity(productDTO);
+        Double previousSpecialPrice = productFromDB.getSpecialPrice();
+        Integer previousQuantity = productFromDB.getQuantity();
+        productCatalogCache.evictListings(productId, productFromDB.getCategory(),
+                productFromDB.getProductName(), productFromDB.getDescription());
 
         productFromDB.setProductName(product.getProductName());
         productFromDB.setDescription(product.getDescription());
@@ -202,21 +423,14 @@ public class ProductServiceImpl implements ProductService {
         productFromDB.setSpecialPrice(product.getSpecialPrice());
 
         Product updatedProduct = productRepository.save(productFromDB);
+        productSearchIndex.index(updatedProduct);
+        inventoryService.stockChanged(productId, previousQuantity, updatedProduct.getQuantity());
+        productCatalogCache.evictListings(productId, updatedProduct.getCategory(),
+                updatedProduct.getProductName(), updatedProduct.getDescription());
 
-        List<Cart> carts = cartRepository.findCartByProductId(productId);
-
-        List<CartDTO> cartDTOS = carts.stream()
-                .map(cart -> {
-                    CartDTO cartDTO = cartMapper.toDTO(cart);
-                    List<ProductDTO> productDTOS = cart.getCartItems().stream()
-                            .map(p -> productMapper.toDTO(p.getProduct()))
-                            .toList();
-                    cartDTO.setProducts(productDTOS);
-
-                    return cartDTO;
-                }).toList();
-
-        cartDTOS.forEach(cartDTO -> cartService.updateProductInCarts(cartDTO.getCartId(), productId));
+        if (!Objects.equals(previousSpecialPrice, updatedProduct.getSpecialPrice())) {
+            cartRepricingService.repriceProductInCarts(productId, updatedProduct.getSpecialPrice());
+        }
 
         return productMapper.toDTO(updatedProduct);
     }
@@ -228,10 +442,24 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
 
+        String previousImage = productFromDB.getImage();
         String fileName = fileService.uploadImage(path, image);
 
-        productFromDB.setImage(fileName);
-        Product updatedProduct = productRepository.save(productFromDB);
+        Product updatedProduct;
+        try {
+            productFromDB.setImage(fileName);
+            updatedProduct = productRepository.save(productFromDB);
+        } catch (RuntimeException e) {
+            fileService.releaseImage(path, fileName);
+            throw e;
+        }
+        fileService.releaseImage(path, previousImage);
+        productCatalogCache.evictProduct(productId);
+
+        if (imageVariantPipeline.resolve(fileName, ImageVariant.LARGE).equals(fileName)) {
+            imageVariantPipeline.generateVariants(fileName)
+                    .thenRun(() -> productCatalogCache.evictProduct(productId));
+        }
 
         return productMapper.toDTO(updatedProduct);
     }
@@ -260,6 +488,10 @@ public class ProductServiceImpl implements ProductService {
         });
 
         productRepository.delete(product);
+        productSearchIndex.remove(productId);
+        TransactionUtils.afterCommit(() -> fileService.releaseImage(path, product.getImage()));
+        productCatalogCache.evictListings(productId, product.getCategory(),
+                product.getProductName(), product.getDescription());
         return productMapper.toDTO(product);
     }
 }
\ No newline at end of file
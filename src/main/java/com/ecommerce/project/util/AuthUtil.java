@@ -1,42 +1,24 @@
 package com.ecommerce.project.util;
 
 import com.ecommerce.project.model.User;
-import com.ecommerce.project.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class AuthUtil {
 
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
 
     public String loggedInEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: "
-                        + authentication.getName()));
-
-        return user.getEmail();
+        return currentUserContext.principal().getEmail();
     }
 
     public Long loggedInId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: "
-                        + authentication.getName()));
-
-        return user.getUserId();
+        return currentUserContext.principal().getId();
     }
 
     public User loggedInUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        return userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: "
-                        + authentication.getName()));
+        return currentUserContext.user();
     }
 }
@@ -0,0 +1,43 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private final UserRepository userRepository;
+
+    private UserDetailsImpl principal;
+    private User user;
+
+    public UserDetailsImpl principal() {
+        if (principal == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+                throw new UsernameNotFoundException("User not found with username: "
+                        + (authentication != null ? authentication.getName() : null));
+            }
+            principal = userDetails;
+        }
+        return principal;
+    }
+
+    public User user() {
+        if (user == null) {
+            String username = principal().getUsername();
+            user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.exceptions.APIException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record KeysetCursor(String sortBy, String sortOrder, Long id, String value) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        String raw = value == null
+                ? String.join(SEPARATOR, sortBy, sortOrder, String.valueOf(id))
+                : String.join(SEPARATOR, sortBy, sortOrder, String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Double numericValue() {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid cursor");
+        }
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length < 3) {
+                throw new APIException("Invalid cursor");
+            }
+            return new KeysetCursor(parts[0], parts[1], Long.valueOf(parts[2]), parts.length == 4 ? parts[3] : null);
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.project;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+@TestConfiguration
+public class TestJsonConfiguration {
+
+	@Bean
+	ObjectMapper objectMapper() {
+		return JsonMapper.builder().findAndAddModules().build();
+	}
+}
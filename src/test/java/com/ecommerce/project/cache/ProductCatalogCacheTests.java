@@ -0,0 +1,106 @@
+package com.ecommerce.project.cache;
+
+import com.ecommerce.project.cache.ProductCatalogCache.CatalogQuery;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogCacheTests {
+
+	private static final Category LIGHTING = new Category(1L, "Lighting");
+	private static final Category FURNITURE = new Category(2L, "Furniture");
+
+	private static final CatalogQuery ALL = listing(null, null, null);
+	private static final CatalogQuery LAMPS = listing("lamp", null, null);
+	private static final CatalogQuery CHAIRS = listing("chair", null, null);
+	private static final CatalogQuery LIGHTING_BY_NAME = listing(null, "Lighting", null);
+	private static final CatalogQuery LIGHTING_BY_ID = listing(null, null, 1L);
+	private static final CatalogQuery FURNITURE_BY_ID = listing(null, null, 2L);
+	private static final CatalogQuery CHAIR_PAGE = listing("office", null, null);
+
+	private final ProductCatalogCache cache = new ProductCatalogCache(100, 60);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void evictsOnlyListingsTheProductCanAppearIn() {
+		cacheAll();
+
+		cache.evictListings(99L, LIGHTING, "Desk Lamp", "Adjustable lamp for desks");
+
+		assertThat(reloaded(ALL, LAMPS, LIGHTING_BY_NAME, LIGHTING_BY_ID)).isEqualTo(4);
+		assertThat(reloaded(CHAIRS, FURNITURE_BY_ID, CHAIR_PAGE)).isZero();
+	}
+
+	@Test
+	void evictsPagesHoldingTheProductWhateverTheirFilter() {
+		cacheAll();
+
+		cache.evictProduct(20L);
+
+		assertThat(reloaded(ALL, CHAIRS, FURNITURE_BY_ID, CHAIR_PAGE)).isEqualTo(4);
+		assertThat(reloaded(LAMPS, LIGHTING_BY_NAME, LIGHTING_BY_ID)).isZero();
+	}
+
+	@Test
+	void evictsListingsOfARenamedCategory() {
+		cacheAll();
+
+		cache.evictCategory(1L, "Lighting", "Lamps");
+
+		assertThat(reloaded(LIGHTING_BY_NAME, LIGHTING_BY_ID)).isEqualTo(2);
+		assertThat(reloaded(ALL, LAMPS, CHAIRS, FURNITURE_BY_ID, CHAIR_PAGE)).isZero();
+	}
+
+	@Test
+	void reindexesPagesLoadedAfterAnEviction() {
+		cacheAll();
+		cache.evictProduct(10L);
+		load(LAMPS, 10L, 11L);
+		assertThat(loads.get()).isEqualTo(8);
+
+		cache.evictProduct(10L);
+
+		assertThat(reloaded(LAMPS)).isEqualTo(1);
+	}
+
+	private void cacheAll() {
+		load(ALL, 10L, 20L);
+		load(LAMPS, 10L, 11L);
+		load(CHAIRS, 20L);
+		load(LIGHTING_BY_NAME, 10L, 11L);
+		load(LIGHTING_BY_ID, 10L, 11L);
+		load(FURNITURE_BY_ID, 20L);
+		load(CHAIR_PAGE, 20L);
+	}
+
+	private int reloaded(CatalogQuery... queries) {
+		int before = loads.get();
+		for (CatalogQuery query : queries) {
+			load(query);
+		}
+		return loads.get() - before;
+	}
+
+	private void load(CatalogQuery query, Long... productIds) {
+		cache.get(query, () -> {
+			loads.incrementAndGet();
+			List<ProductDTO> content = List.of(productIds).stream()
+					.map(productId -> {
+						ProductDTO productDTO = new ProductDTO();
+						productDTO.setProductId(productId);
+						return productDTO;
+					}).toList();
+			return new ProductResponse(content, 0, 10, (long) content.size(), 1, true);
+		});
+	}
+
+	private static CatalogQuery listing(String keyword, String category, Long categoryId) {
+		return new CatalogQuery(keyword, category, categoryId, 0, 10, "productId", "asc");
+	}
+}
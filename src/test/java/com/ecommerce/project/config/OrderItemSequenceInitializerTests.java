@@ -0,0 +1,48 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.repositories.OrderItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:sequence;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OrderItemSequenceInitializer.class)
+class OrderItemSequenceInitializerTests {
+
+	@Autowired
+	private OrderItemSequenceInitializer initializer;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void movesTheSequencePastIdsAssignedByTheOldIdentityColumn() {
+		jdbcTemplate.update("INSERT INTO order_items (order_item_id, quantity) VALUES (1000, 1), (1001, 2)");
+
+		initializer.afterSingletonsInstantiated();
+
+		OrderItem orderItem = new OrderItem();
+		orderItem.setQuantity(3);
+		OrderItem saved = orderItemRepository.save(orderItem);
+
+		assertThat(saved.getOrderItemId()).isGreaterThan(1001L);
+
+		initializer.afterSingletonsInstantiated();
+		OrderItem next = new OrderItem();
+		next.setQuantity(4);
+		assertThat(orderItemRepository.save(next).getOrderItemId()).isGreaterThan(saved.getOrderItemId());
+	}
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.project.execution;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolLimitFilterTests {
+
+	private final ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(1, 0, 10);
+	private final ConnectionPoolLimitFilter filter = new ConnectionPoolLimitFilter(limiter);
+
+	@Test
+	void holdsAPermitForTheDurationOfAnApiRequest() throws Exception {
+		AtomicInteger inFlight = new AtomicInteger();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/public/products"), response,
+				(request, resp) -> inFlight.set(limiter.inFlight()));
+
+		assertThat(inFlight.get()).isEqualTo(1);
+		assertThat(limiter.inFlight()).isZero();
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void holdsThePermitUntilAnAsyncResponseCompletes() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/carts/export");
+		request.setAsyncSupported(true);
+
+		filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> req.startAsync());
+
+		assertThat(limiter.inFlight()).isEqualTo(1);
+		assertThat(limiter.tryAcquire()).isFalse();
+
+		request.getAsyncContext().complete();
+		assertThat(limiter.inFlight()).isZero();
+	}
+
+	@Test
+	void shedsApiRequestsWhenSaturated() throws Exception {
+		assertThat(limiter.tryAcquire()).isTrue();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/public/products"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void letsNonApiRequestsThroughWhenSaturated() throws Exception {
+		assertThat(limiter.tryAcquire()).isTrue();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/images/product.png"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(limiter.rejections()).isZero();
+	}
+}
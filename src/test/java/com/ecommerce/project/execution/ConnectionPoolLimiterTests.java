@@ -0,0 +1,72 @@
+package com.ecommerce.project.execution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionPoolLimiterTests {
+
+	@Test
+	void admitsUpToThePermitCountAndTimesOutTheRest() throws Exception {
+		ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(2, 10, 50);
+
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.inFlight()).isEqualTo(2);
+
+		assertThat(limiter.tryAcquire()).isFalse();
+		assertThat(limiter.rejections()).isEqualTo(1);
+		assertThat(limiter.queued()).isZero();
+
+		limiter.release();
+		assertThat(limiter.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void handsAReleasedPermitToAQueuedCaller() throws Exception {
+		ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(1, 10, 5_000);
+		assertThat(limiter.tryAcquire()).isTrue();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> waiter = executor.submit(limiter::tryAcquire);
+			while (limiter.queued() == 0) {
+				Thread.sleep(1);
+			}
+
+			limiter.release();
+
+			assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(limiter.inFlight()).isEqualTo(1);
+			assertThat(limiter.rejections()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+		ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(1, 0, 5_000);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		limiter.bindTo(registry);
+		assertThat(limiter.tryAcquire()).isTrue();
+
+		long started = System.nanoTime();
+		assertThat(limiter.tryAcquire()).isFalse();
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1_000);
+		assertThat(registry.get("execution.limiter.rejections").tag("reason", "queue_full").functionCounter().count())
+				.isEqualTo(1.0);
+		assertThat(registry.get("execution.limiter.in_flight").gauge().value()).isEqualTo(1.0);
+	}
+
+	@Test
+	void requiresAtLeastOnePermit() {
+		assertThatThrownBy(() -> new ConnectionPoolLimiter(0, 10, 50))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
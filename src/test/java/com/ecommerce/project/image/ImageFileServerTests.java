@@ -0,0 +1,142 @@
+package com.ecommerce.project.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageFileServerTests {
+
+	private static final String IMMUTABLE_NAME = "3f2b8c1e-4d5a-4b6c-8d7e-9f0a1b2c3d4e.png";
+
+	@TempDir
+	Path imageDirectory;
+
+	private ImageFileServer server;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new ImageFileServer(imageDirectory.toString(), 100);
+		Files.writeString(imageDirectory.resolve(IMMUTABLE_NAME), "0123456789abcdefghij");
+		Files.writeString(imageDirectory.resolve("default.png"), "placeholder");
+	}
+
+	@Test
+	void servesFullFileWithValidators() throws Exception {
+		MockHttpServletResponse response = serve(IMMUTABLE_NAME, request());
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsString()).isEqualTo("0123456789abcdefghij");
+		assertThat(response.getContentType()).isEqualTo("image/png");
+		assertThat(response.getContentLengthLong()).isEqualTo(20);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).matches("\"[0-9a-f]{32}\"");
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+		assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+		assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+	}
+
+	@Test
+	void mutableNamesMustRevalidate() throws Exception {
+		MockHttpServletResponse response = serve("default.png", request());
+
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).doesNotContain("immutable").contains("must-revalidate");
+	}
+
+	@Test
+	void returnsNotModifiedForMatchingEtag() throws Exception {
+		String etag = serve(IMMUTABLE_NAME, request()).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletRequest conditional = request();
+		conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag);
+		MockHttpServletResponse response = serve(IMMUTABLE_NAME, conditional);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void etagChangesWhenContentChanges() throws Exception {
+		String before = serve("default.png", request()).getHeader(HttpHeaders.ETAG);
+		Files.writeString(imageDirectory.resolve("default.png"), "a different placeholder");
+
+		assertThat(serve("default.png", request()).getHeader(HttpHeaders.ETAG)).isNotEqualTo(before);
+	}
+
+	@Test
+	void servesSingleByteRanges() throws Exception {
+		MockHttpServletRequest bounded = request();
+		bounded.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+		MockHttpServletResponse response = serve(IMMUTABLE_NAME, bounded);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentAsString()).isEqualTo("2345");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/20");
+
+		MockHttpServletRequest suffix = request();
+		suffix.addHeader(HttpHeaders.RANGE, "bytes=-3");
+		assertThat(serve(IMMUTABLE_NAME, suffix).getContentAsString()).isEqualTo("hij");
+
+		MockHttpServletRequest open = request();
+		open.addHeader(HttpHeaders.RANGE, "bytes=15-");
+		assertThat(serve(IMMUTABLE_NAME, open).getContentAsString()).isEqualTo("fghij");
+	}
+
+	@Test
+	void rejectsUnsatisfiableRange() throws Exception {
+		MockHttpServletRequest request = request();
+		request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+		MockHttpServletResponse response = serve(IMMUTABLE_NAME, request);
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+	}
+
+	@Test
+	void ignoresRangeWhenIfRangeIsStale() throws Exception {
+		MockHttpServletRequest request = request();
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+		MockHttpServletResponse response = serve(IMMUTABLE_NAME, request);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsString()).hasSize(20);
+	}
+
+	@Test
+	void delegatesToSendfileWhenContainerSupportsIt() throws Exception {
+		MockHttpServletRequest request = request();
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+		MockHttpServletResponse response = serve(IMMUTABLE_NAME, request);
+
+		assertThat(response.getContentAsByteArray()).isEmpty();
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+				.isEqualTo(imageDirectory.resolve(IMMUTABLE_NAME).toAbsolutePath().toString());
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(4L);
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(20L);
+	}
+
+	@Test
+	void rejectsTraversalAndMissingFiles() throws Exception {
+		assertThat(serve("../secret.txt", request()).getStatus()).isEqualTo(404);
+		assertThat(serve("missing.png", request()).getStatus()).isEqualTo(404);
+		assertThat(serve("", request()).getStatus()).isEqualTo(404);
+	}
+
+	private MockHttpServletRequest request() {
+		return new MockHttpServletRequest("GET", "/images/");
+	}
+
+	private MockHttpServletResponse serve(String path, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		server.serve(path, request, response);
+		return response;
+	}
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.project.image;
+
+import com.ecommerce.project.execution.WorkerThreads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ImageVariantPipelineTests {
+
+	@TempDir
+	Path imageDirectory;
+
+	private ImageVariantPipeline pipeline;
+
+	@BeforeEach
+	void setUp() {
+		pipeline = pipeline(40_000_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pipeline.shutdown();
+	}
+
+	@Test
+	void generatesDownscaledVariantsAndResolvesThem() throws Exception {
+		writePng("original.png", 2400, 1600);
+		assertThat(pipeline.resolve("original.png", ImageVariant.THUMBNAIL)).isEqualTo("original.png");
+
+		pipeline.generateVariants("original.png").get(30, TimeUnit.SECONDS);
+
+		long originalSize = Files.size(imageDirectory.resolve("original.png"));
+		for (ImageVariant variant : ImageVariant.values()) {
+			String variantName = pipeline.resolve("original.png", variant);
+			assertThat(variantName).isEqualTo("original-" + variant.suffix() + ".jpg");
+
+			BufferedImage image = ImageIO.read(imageDirectory.resolve(variantName).toFile());
+			assertThat(Math.max(image.getWidth(), image.getHeight())).isEqualTo(variant.maxDimension());
+			assertThat((double) image.getWidth() / image.getHeight()).isCloseTo(1.5, within(0.02));
+			assertThat(Files.size(imageDirectory.resolve(variantName))).isLessThan(originalSize);
+		}
+	}
+
+	@Test
+	void doesNotUpscaleSmallImages() throws Exception {
+		writePng("small.png", 120, 80);
+
+		pipeline.generateVariants("small.png").get(30, TimeUnit.SECONDS);
+
+		BufferedImage large = ImageIO.read(imageDirectory.resolve("small-large.jpg").toFile());
+		assertThat(large.getWidth()).isEqualTo(120);
+		assertThat(large.getHeight()).isEqualTo(80);
+	}
+
+	@Test
+	void keepsOriginalForUnsupportedFiles() throws Exception {
+		Files.writeString(imageDirectory.resolve("notes.png"), "not an image");
+
+		pipeline.generateVariants("notes.png").get(30, TimeUnit.SECONDS);
+
+		assertThat(pipeline.resolve("notes.png", ImageVariant.MEDIUM)).isEqualTo("notes.png");
+	}
+
+	@Test
+	void skipsImagesLargerThanThePixelLimitBeforeDecoding() throws Exception {
+		pipeline.shutdown();
+		pipeline = pipeline(1_000_000);
+		writePng("poster.png", 2000, 1000);
+
+		pipeline.generateVariants("poster.png").get(30, TimeUnit.SECONDS);
+
+		assertThat(pipeline.resolve("poster.png", ImageVariant.THUMBNAIL)).isEqualTo("poster.png");
+		assertThat(imageDirectory.resolve("poster-thumbnail.jpg")).doesNotExist();
+	}
+
+	private ImageVariantPipeline pipeline(long maxPixels) {
+		return new ImageVariantPipeline(new WorkerThreads(new MockEnvironment()), imageDirectory.toString(), 2, 10, 0.8f,
+				maxPixels);
+	}
+
+	private void writePng(String fileName, int width, int height) throws Exception {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		for (int x = 0; x < width; x += 40) {
+			for (int y = 0; y < height; y += 40) {
+				graphics.setColor(new Color((x * 7 + y * 13) % 256, (x * 3) % 256, (y * 5) % 256));
+				graphics.fillRect(x, y, 40, 40);
+			}
+		}
+		graphics.dispose();
+		ImageIO.write(image, "png", imageDirectory.resolve(fileName).toFile());
+	}
+}
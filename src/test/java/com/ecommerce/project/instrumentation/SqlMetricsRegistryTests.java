@@ -0,0 +1,116 @@
+package com.ecommerce.project.instrumentation;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.SqlHandlerStatsDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:sqlmetrics;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"sql.budget.maxStatements=5",
+		"sql.budget.overrides=CatalogHandler.strict:1",
+		"sql.budget.enforce=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SqlInstrumentationConfiguration.class, SqlMetricsRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SqlMetricsRegistryTests {
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private SqlMetricsRegistry sqlMetricsRegistry;
+
+	@BeforeEach
+	void setUp() {
+		for (String name : new String[]{"Books", "Games", "Tools"}) {
+			Category category = new Category();
+			category.setCategoryName(name);
+			categoryRepository.save(category);
+		}
+		sqlMetricsRegistry.reset();
+	}
+
+	@AfterEach
+	void tearDown() {
+		categoryRepository.deleteAll();
+	}
+
+	@Test
+	void attributesStatementsRowsAndEntityLoadsToTheHandler() throws Exception {
+		SqlRequestContext context = begin("list");
+		try {
+			assertThat(categoryRepository.findAll()).hasSize(3);
+			assertThat(categoryRepository.count()).isEqualTo(3);
+		} finally {
+			context.end();
+			sqlMetricsRegistry.record(context);
+		}
+
+		SqlHandlerStatsDTO stats = sqlMetricsRegistry.getStats("CatalogHandler.list").orElseThrow();
+		assertThat(stats.getRequests()).isEqualTo(1);
+		assertThat(stats.getStatements()).isEqualTo(2);
+		assertThat(stats.getRowsFetched()).isEqualTo(4);
+		assertThat(stats.getEntityLoads()).isEqualTo(3);
+		assertThat(stats.getStatementBudget()).isEqualTo(5);
+		assertThat(stats.getStatementHistogram()).containsEntry("2", 1L);
+		assertThat(stats.getBudgetViolations()).isZero();
+	}
+
+	@Test
+	void failsStatementsOverAnEnforcedBudget() throws Exception {
+		SqlRequestContext context = begin("strict");
+		try {
+			categoryRepository.findAll();
+			assertThatThrownBy(() -> categoryRepository.count())
+					.isInstanceOf(DataAccessException.class)
+					.hasStackTraceContaining("Statement budget of 1 exceeded by CatalogHandler.strict");
+		} finally {
+			context.end();
+			sqlMetricsRegistry.record(context);
+		}
+
+		assertThat(sqlMetricsRegistry.budgetViolations()).isEqualTo(1);
+	}
+
+	@Test
+	void ignoresStatementsOutsideRequests() {
+		categoryRepository.findAll();
+
+		assertThat(sqlMetricsRegistry.getStats()).isEmpty();
+	}
+
+	private SqlRequestContext begin(String handlerMethod) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/categories");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+				new HandlerMethod(new CatalogHandler(), CatalogHandler.class.getMethod(handlerMethod)));
+		return SqlRequestContext.begin(request, sqlMetricsRegistry);
+	}
+
+	static class CatalogHandler {
+
+		public void list() {
+		}
+
+		public void strict() {
+		}
+	}
+}
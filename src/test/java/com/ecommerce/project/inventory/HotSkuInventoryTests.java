@@ -0,0 +1,185 @@
+package com.ecommerce.project.inventory;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.InventoryJournalEntry;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.InventoryJournalRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:hotsku;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotSkuInventoryTests {
+
+	private static final int STOCK = 500;
+	private static final int THREADS = 32;
+	private static final int ORDERS_PER_THREAD = 40;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private InventoryJournalRepository journalRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private Long productId;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+
+		Product product = new Product();
+		product.setProductName("Launch Sneakers");
+		product.setDescription("Limited launch edition sneakers");
+		product.setQuantity(STOCK);
+		product.setPrice(100.0);
+		product.setDiscount(0.0);
+		product.setSpecialPrice(100.0);
+		productId = productRepository.save(product).getProductId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		journalRepository.deleteAll();
+		productRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentReservationsNeverOversellAndFlushToDatabase() throws Exception {
+		HotSkuInventory inventory = startInventory();
+
+		AtomicInteger reservedUnits = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int thread = 0; thread < THREADS; thread++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+						int quantity = 1 + i % 2;
+						try {
+							transactionTemplate.executeWithoutResult(status ->
+									inventory.reserve(Map.of(productId, quantity)));
+							reservedUnits.addAndGet(quantity);
+						} catch (APIException e) {
+							assertThat(e.getMessage()).startsWith("Insufficient stock");
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(reservedUnits.get()).isLessThanOrEqualTo(STOCK);
+		assertThat(inventory.available(productId)).isEqualTo(STOCK - reservedUnits.get());
+
+		inventory.flush();
+		assertThat(journalRepository.count()).isZero();
+		assertThat(quantityInDatabase()).isEqualTo(STOCK - reservedUnits.get());
+		inventory.shutdown();
+	}
+
+	@Test
+	void rolledBackReservationsReturnStock() {
+		HotSkuInventory inventory = startInventory();
+
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+			inventory.reserve(Map.of(productId, 5));
+			throw new APIException("Payment declined");
+		})).isInstanceOf(APIException.class);
+
+		assertThat(inventory.available(productId)).isEqualTo(STOCK);
+		assertThat(journalRepository.count()).isZero();
+		inventory.shutdown();
+	}
+
+	@Test
+	void loweringStockStopsGrantingTheRemovedUnits() {
+		HotSkuInventory inventory = startInventory();
+
+		inventory.adjust(productId, -(STOCK - 10));
+
+		int granted = 0;
+		for (int i = 0; i < STOCK; i++) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> inventory.reserve(Map.of(productId, 1)));
+				granted++;
+			} catch (APIException e) {
+				assertThat(e.getMessage()).startsWith("Insufficient stock");
+			}
+		}
+
+		assertThat(granted).isEqualTo(10);
+		assertThat(inventory.available(productId)).isZero();
+
+		inventory.adjust(productId, -5);
+		assertThat(inventory.available(productId)).isZero();
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+				inventory.reserve(Map.of(productId, 1)))).isInstanceOf(APIException.class);
+		inventory.shutdown();
+	}
+
+	@Test
+	void startupAppliesJournalLeftByCrashedInstance() {
+		transactionTemplate.executeWithoutResult(status -> journalRepository.saveAll(List.of(
+				new InventoryJournalEntry(null, productId, 3, Instant.now()),
+				new InventoryJournalEntry(null, productId, 4, Instant.now()))));
+
+		HotSkuInventory inventory = startInventory();
+
+		assertThat(journalRepository.count()).isZero();
+		assertThat(quantityInDatabase()).isEqualTo(STOCK - 7);
+		assertThat(inventory.available(productId)).isEqualTo(STOCK - 7);
+		inventory.shutdown();
+	}
+
+	private HotSkuInventory startInventory() {
+		HotSkuInventory inventory = new HotSkuInventory(productRepository, journalRepository, jdbcTemplate,
+				transactionTemplate, Set.of(productId), 8, 100, 60_000);
+		inventory.start();
+		return inventory;
+	}
+
+	private int quantityInDatabase() {
+		return productRepository.findById(productId).orElseThrow().getQuantity();
+	}
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.project.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class CatalogSeeder {
+
+	private static final int BATCH_SIZE = 500;
+	private static final String[] ADJECTIVES = {"Wireless", "Compact", "Premium", "Classic", "Portable", "Smart", "Eco", "Ultra"};
+	private static final String[] NOUNS = {"Headphones", "Backpack", "Keyboard", "Lamp", "Bottle", "Watch", "Speaker", "Jacket"};
+
+	private final JdbcTemplate jdbcTemplate;
+	private final SplittableRandom random;
+
+	CatalogSeeder(JdbcTemplate jdbcTemplate, long seed) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.random = new SplittableRandom(seed);
+	}
+
+	SeededCatalog seed(int categories, int products, int users, int stock, String passwordHash) {
+		List<Object[]> categoryRows = new ArrayList<>(categories);
+		for (int i = 0; i < categories; i++) {
+			categoryRows.add(new Object[]{"Load Category " + i});
+		}
+		batch("INSERT INTO categories (category_name) VALUES (?)", categoryRows);
+		List<Long> categoryIds = jdbcTemplate.queryForList(
+				"SELECT category_id FROM categories WHERE category_name LIKE 'Load Category %' ORDER BY category_id", Long.class);
+
+		List<Object[]> productRows = new ArrayList<>(products);
+		for (int i = 0; i < products; i++) {
+			double price = 5 + random.nextInt(995);
+			double discount = random.nextInt(40);
+			productRows.add(new Object[]{
+					ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i,
+					"Seeded load test product number " + i,
+					"default.png",
+					stock,
+					price,
+					discount,
+					price - price * discount / 100,
+					categoryIds.get(random.nextInt(categoryIds.size()))
+			});
+		}
+		batch("INSERT INTO products (product_name, description, image, quantity, price, discount, special_price, category_id) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", productRows);
+		List<Long> productIds = jdbcTemplate.queryForList(
+				"SELECT product_id FROM products WHERE description LIKE 'Seeded load test product%' ORDER BY product_id", Long.class);
+
+		List<Object[]> userRows = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			userRows.add(new Object[]{"load" + i, "load" + i + "@example.com", passwordHash, 0});
+		}
+		batch("INSERT INTO users (username, email, password, token_version) VALUES (?, ?, ?, ?)", userRows);
+
+		jdbcTemplate.update("INSERT INTO user_role (user_id, role_id) "
+				+ "SELECT u.user_id, r.role_id FROM users u, roles r "
+				+ "WHERE u.username LIKE 'load%' AND r.role_name = 'ROLE_USER'");
+		jdbcTemplate.update("INSERT INTO addresses (street, building_name, city, state, country, postal_code, user_id) "
+				+ "SELECT 'Load Street', 'Load Building', 'Load City', 'LS', 'LC', '100000', u.user_id "
+				+ "FROM users u WHERE u.username LIKE 'load%'");
+
+		List<SeededUser> seededUsers = jdbcTemplate.query("SELECT u.username, a.address_id FROM users u "
+						+ "JOIN addresses a ON a.user_id = u.user_id WHERE u.username LIKE 'load%' ORDER BY u.user_id",
+				(rs, rowNum) -> new SeededUser(rs.getString(1), rs.getLong(2)));
+
+		return new SeededCatalog(categoryIds, productIds, seededUsers);
+	}
+
+	private void batch(String sql, List<Object[]> rows) {
+		for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+			jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+		}
+	}
+
+	record SeededUser(String username, Long addressId) {
+	}
+
+	record SeededCatalog(List<Long> categoryIds, List<Long> productIds, List<SeededUser> users) {
+	}
+}
@@ -0,0 +1,227 @@
+package com.ecommerce.project.load;
+
+import com.ecommerce.project.instrumentation.SqlMetricsRegistry;
+import com.ecommerce.project.search.ProductSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.app.jwtSecret=bG9hZC10ZXN0LXNlY3JldC1rZXktMDEyMzQ1Njc4OWFiY2RlZg==",
+		"spring.app.jwtExpirationMs=3600000",
+		"spring.app.jwtCookie=springBootEcom",
+		"frontend.url=http://localhost:3000/",
+		"image.base.url=http://localhost:8080/images/",
+		"sql.budget.maxStatements=20",
+		"sql.budget.enforce=true",
+		"execution.limiter.enabled=true",
+		"management.server.port=0",
+		"logging.level.org.hibernate.SQL=warn"
+})
+@Import(StubPaymentGateway.class)
+class CheckoutLoadTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(CheckoutLoadTests.class);
+
+	private static final String SIGN_IN = "AuthController.authentication";
+	private static final String BROWSE = "ProductController.getProducts";
+	private static final String ADD_TO_CART = "CartController.addProductToCart";
+	private static final String UPDATE_QUANTITY = "CartController.updateCartProduct";
+	private static final String VIEW_CART = "CartController.getCartById";
+	private static final String CHECKOUT = "OrderController.orderProducts";
+	private static final String GATEWAY_CALLBACKS = "StubPaymentGateway.sendCallbacks";
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 8);
+	private static final int PRODUCTS = Integer.getInteger("loadtest.products", 500);
+	private static final int CATEGORIES = Integer.getInteger("loadtest.categories", 20);
+	private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 5);
+	private static final long THINK_TIME_MS = Long.getLong("loadtest.thinkTimeMs", 0L);
+	private static final long SEED = Long.getLong("loadtest.seed", 42L);
+	private static final String PASSWORD = "loadPassword";
+	private static final int PAGE_SIZE = 12;
+
+	@LocalServerPort
+	private int port;
+
+	@LocalManagementPort
+	private int managementPort;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ProductSearchIndex productSearchIndex;
+
+	@Autowired
+	private SqlMetricsRegistry sqlMetricsRegistry;
+
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final LoadReport report = new LoadReport();
+
+	@Test
+	void browseCartAndCheckoutMix() throws Exception {
+		CatalogSeeder.SeededCatalog catalog = new CatalogSeeder(jdbcTemplate, SEED)
+				.seed(CATEGORIES, PRODUCTS, USERS, 1_000_000, passwordEncoder.encode(PASSWORD));
+		productSearchIndex.rebuild();
+		sqlMetricsRegistry.reset();
+
+		ExecutorService executor = Executors.newFixedThreadPool(USERS);
+		long started = System.nanoTime();
+		try {
+			List<Future<?>> sessions = new ArrayList<>();
+			for (int i = 0; i < catalog.users().size(); i++) {
+				CatalogSeeder.SeededUser user = catalog.users().get(i);
+				SplittableRandom random = new SplittableRandom(SEED + i);
+				sessions.add(executor.submit(() -> {
+					session(user, catalog, random);
+					return null;
+				}));
+			}
+			for (Future<?> session : sessions) {
+				session.get(5, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		long elapsed = System.nanoTime() - started;
+
+		String rendered = report.render(elapsed, sqlMetricsRegistry);
+		logger.info("Load test with {} users, {} products, {} iterations\n{}", USERS, PRODUCTS, ITERATIONS, rendered);
+		Path output = Path.of("target", "load-test-report.txt");
+		Files.createDirectories(output.getParent());
+		Files.writeString(output, rendered);
+
+		long orders = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM orders WHERE email LIKE 'load%@example.com'", Long.class);
+		assertThat(report.serverErrors()).isZero();
+		assertThat(sqlMetricsRegistry.budgetViolations()).isZero();
+		assertThat(report.count(CHECKOUT)).isEqualTo((long) USERS * ITERATIONS);
+		assertThat(orders).isEqualTo(report.count(CHECKOUT) - report.clientErrors(CHECKOUT)).isPositive();
+		assertThat(awaitPaidOrders(orders)).isEqualTo(orders);
+
+		HttpResponse<String> publicScrape = httpClient.send(get("/actuator/prometheus").build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertThat(publicScrape.statusCode()).isNotEqualTo(200);
+
+		HttpResponse<String> scrape = httpClient.send(HttpRequest.newBuilder(
+						URI.create("http://localhost:" + managementPort + "/actuator/prometheus")).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertThat(scrape.statusCode()).isEqualTo(200);
+		assertThat(scrape.body())
+				.contains("cart_operations_seconds_bucket")
+				.contains("checkout_place_order_seconds_count")
+				.contains("jwt_validations_total{application=\"springboot-ecommerce\",outcome=\"cached\"}")
+				.contains("sql_request_statements_count{application=\"springboot-ecommerce\",handler=\"" + CHECKOUT + "\"}")
+				.contains("cache_gets_total{application=\"springboot-ecommerce\",cache=\"jwtVerifiedTokens\"")
+				.contains("payment_webhook_queue_size")
+				.contains("execution_limiter_permits");
+	}
+
+	private void session(CatalogSeeder.SeededUser user, CatalogSeeder.SeededCatalog catalog, SplittableRandom random)
+			throws IOException, InterruptedException {
+		HttpResponse<String> signIn = send(SIGN_IN, null, HttpRequest.newBuilder(uri("/api/auth/signin"))
+				.header(HttpHeaders.CONTENT_TYPE, "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"{\"username\":\"" + user.username() + "\",\"password\":\"" + PASSWORD + "\"}")));
+		String cookie = signIn.headers().firstValue(HttpHeaders.SET_COOKIE).orElseThrow().split(";", 2)[0];
+
+		int pages = Math.max(1, PRODUCTS / PAGE_SIZE);
+		for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+			send(BROWSE, cookie, get("/api/public/products?pageNumber=" + random.nextInt(pages)
+					+ "&pageSize=" + PAGE_SIZE + "&sortBy=price&sortOrder=" + (random.nextBoolean() ? "asc" : "desc")));
+			if (random.nextInt(10) < 3) {
+				send(BROWSE, cookie, get("/api/public/products?keyword=" + (random.nextBoolean() ? "wireless" : "backpack")
+						+ "&pageSize=" + PAGE_SIZE));
+			}
+
+			Long productId = catalog.productIds().get(random.nextInt(catalog.productIds().size()));
+			send(ADD_TO_CART, cookie, HttpRequest.newBuilder(uri("/api/cart/products/" + productId + "/quantity/1"))
+					.POST(HttpRequest.BodyPublishers.noBody()));
+			send(UPDATE_QUANTITY, cookie, HttpRequest.newBuilder(uri("/api/cart/products/" + productId + "/quantity/add"))
+					.PUT(HttpRequest.BodyPublishers.noBody()));
+			send(VIEW_CART, cookie, get("/api/carts/users/cart"));
+			thinkTime();
+
+			String pgPaymentId = "pi_" + user.username() + "_" + iteration;
+			send(CHECKOUT, cookie, HttpRequest.newBuilder(uri("/api/order/users/payments/card"))
+					.header(HttpHeaders.CONTENT_TYPE, "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString("{\"addressId\":" + user.addressId()
+							+ ",\"pgName\":\"stripe\",\"pgPaymentId\":\"" + pgPaymentId
+							+ "\",\"pgStatus\":\"pending\",\"pgResponseMessage\":\"Payment created\"}")));
+			HttpResponse<String> callbacks = send(GATEWAY_CALLBACKS, null, HttpRequest.newBuilder(
+							uri("/api/test/gateway/payments/" + pgPaymentId + "/callbacks?status=succeeded&count=3"))
+					.POST(HttpRequest.BodyPublishers.noBody()));
+			assertThat(callbacks.body()).isEqualTo("{\"202\":3}");
+			thinkTime();
+		}
+	}
+
+	private long awaitPaidOrders(long orders) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		long paid;
+		do {
+			Thread.sleep(50);
+			paid = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE email LIKE 'load%@example.com'"
+					+ " AND order_status = 'Payment Received'", Long.class);
+		} while (paid < orders && System.nanoTime() < deadline);
+		return paid;
+	}
+
+	private HttpResponse<String> send(String endpoint, String cookie, HttpRequest.Builder request)
+			throws IOException, InterruptedException {
+		if (cookie != null) {
+			request.header(HttpHeaders.COOKIE, cookie);
+		}
+		long started = System.nanoTime();
+		HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		report.record(endpoint, System.nanoTime() - started, response.statusCode());
+		if (response.statusCode() >= 500) {
+			logger.warn("{} returned {} : {}", endpoint, response.statusCode(), response.body());
+		}
+		return response;
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static void thinkTime() throws InterruptedException {
+		if (THINK_TIME_MS > 0) {
+			Thread.sleep(THINK_TIME_MS);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.project.load;
+
+import com.ecommerce.project.instrumentation.SqlMetricsRegistry;
+import com.ecommerce.project.payload.SqlHandlerStatsDTO;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+class LoadReport {
+
+	private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+	void record(String endpoint, long latencyNanos, int status) {
+		endpoints.computeIfAbsent(endpoint, key -> new Samples()).record(latencyNanos, status);
+	}
+
+	long count(String endpoint) {
+		Samples samples = endpoints.get(endpoint);
+		return samples == null ? 0 : samples.latencies.size();
+	}
+
+	long clientErrors(String endpoint) {
+		Samples samples = endpoints.get(endpoint);
+		return samples == null ? 0 : samples.clientErrors.sum();
+	}
+
+	long serverErrors() {
+		return endpoints.values().stream().mapToLong(samples -> samples.serverErrors.sum()).sum();
+	}
+
+	String render(long elapsedNanos, SqlMetricsRegistry sqlMetricsRegistry) {
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		StringBuilder report = new StringBuilder();
+		report.append(String.format(Locale.ROOT, "%-34s %8s %6s %6s %9s %8s %8s %8s %8s %8s %8s %8s %8s%n",
+				"handler", "requests", "4xx", "5xx", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms",
+				"sql avg", "sql max", "rows/req", "loads/req"));
+
+		long total = 0;
+		for (String endpoint : new TreeSet<>(endpoints.keySet())) {
+			Samples samples = endpoints.get(endpoint);
+			long[] latencies = samples.sorted();
+			total += latencies.length;
+			SqlHandlerStatsDTO sql = sqlMetricsRegistry.getStats(endpoint).orElseGet(SqlHandlerStatsDTO::new);
+			long handled = Math.max(1, sql.getRequests());
+			report.append(String.format(Locale.ROOT, "%-34s %8d %6d %6d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8d %8.1f %8.1f%n",
+					endpoint,
+					latencies.length,
+					samples.clientErrors.sum(),
+					samples.serverErrors.sum(),
+					latencies.length / seconds,
+					millis(percentile(latencies, 50)),
+					millis(percentile(latencies, 95)),
+					millis(percentile(latencies, 99)),
+					millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]),
+					sql.getAverageStatements(),
+					sql.getMaxStatements(),
+					(double) sql.getRowsFetched() / handled,
+					(double) sql.getEntityLoads() / handled));
+		}
+
+		report.append(String.format(Locale.ROOT, "total %d requests in %.1f s, %.1f req/s%n", total, seconds, total / seconds));
+		return report.toString();
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static class Samples {
+
+		private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+		private final LongAdder clientErrors = new LongAdder();
+		private final LongAdder serverErrors = new LongAdder();
+
+		void record(long latencyNanos, int status) {
+			latencies.add(latencyNanos);
+			if (status >= 500) {
+				serverErrors.increment();
+			} else if (status >= 400) {
+				clientErrors.increment();
+			}
+		}
+
+		long[] sorted() {
+			long[] values = latencies.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(values);
+			return values;
+		}
+	}
+}
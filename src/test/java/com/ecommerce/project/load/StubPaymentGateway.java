@@ -0,0 +1,60 @@
+package com.ecommerce.project.load;
+
+import com.ecommerce.project.controller.PaymentWebhookController;
+import com.ecommerce.project.payload.PaymentCallbackDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@TestComponent
+@RestController
+@RequestMapping("/api")
+class StubPaymentGateway {
+
+	private final Environment environment;
+	private final String webhookSecret;
+	private final RestClient restClient = RestClient.create();
+
+	StubPaymentGateway(Environment environment,
+			@Value("${payment.webhook.secret}") String webhookSecret) {
+		this.environment = environment;
+		this.webhookSecret = webhookSecret;
+	}
+
+	@PostMapping("/test/gateway/payments/{pgPaymentId}/callbacks")
+	public ResponseEntity<Map<String, Integer>> sendCallbacks(
+			@PathVariable String pgPaymentId,
+			@RequestParam(name = "status", defaultValue = "succeeded", required = false) String status,
+			@RequestParam(name = "count", defaultValue = "1", required = false) Integer count,
+			@RequestParam(name = "distinctPayments", defaultValue = "false", required = false) boolean distinctPayments) {
+
+		String webhookUrl = "http://localhost:" + environment.getProperty("local.server.port")
+				+ "/api/public/payments/webhook";
+
+		Map<String, Integer> responses = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			String callbackPaymentId = distinctPayments ? pgPaymentId + "-" + i : pgPaymentId;
+			PaymentCallbackDTO callback = new PaymentCallbackDTO(callbackPaymentId, status,
+					"Stub gateway callback " + (i + 1), "stub");
+
+			HttpStatusCode responseStatus = restClient.post()
+					.uri(webhookUrl)
+					.contentType(MediaType.APPLICATION_JSON)
+					.header(PaymentWebhookController.WEBHOOK_SECRET_HEADER, webhookSecret)
+					.body(callback)
+					.exchange((request, response) -> response.getStatusCode());
+			responses.merge(String.valueOf(responseStatus.value()), 1, Integer::sum);
+		}
+
+		return new ResponseEntity<>(responses, HttpStatus.OK);
+	}
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CartRepositoryTests {
+
+	private static final int MAX_STATEMENTS_PER_CART_VIEW = 1;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CartRepository cartRepository;
+
+	@Autowired
+	private CartItemRepository cartItemRepository;
+
+	private Long cartId;
+	private Long productId;
+
+	@BeforeEach
+	void setUp() {
+		User user = entityManager.persist(User.builder()
+				.username("user1")
+				.email("user1@example.com")
+				.password("password")
+				.build());
+
+		Cart cart = entityManager.persist(Cart.builder()
+				.user(user)
+				.totalPrice(0.0)
+				.cartItems(new ArrayList<>())
+				.build());
+
+		double totalPrice = 0;
+		for (int i = 0; i < 5; i++) {
+			Category category = entityManager.persist(new Category(null, "Category " + i));
+			Product product = new Product();
+			product.setProductName("Product " + i);
+			product.setDescription("Description of product " + i);
+			product.setQuantity(10);
+			product.setPrice(10.0);
+			product.setDiscount(0.0);
+			product.setSpecialPrice(10.0);
+			product.setCategory(category);
+			entityManager.persist(product);
+			productId = product.getProductId();
+
+			entityManager.persist(CartItem.builder()
+					.cart(cart)
+					.product(product)
+					.quantity(i + 1)
+					.discount(0.0)
+					.productPrice(10.0)
+					.build());
+			totalPrice += 10.0 * (i + 1);
+		}
+
+		cart.setTotalPrice(totalPrice);
+		cartId = cart.getCartId();
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void loadsCartItemsProductsAndCategoriesInOneStatement() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Cart cart = cartRepository.findCartWithItemsByEmailAndCart("user1@example.com", cartId);
+		cart.getCartItems().forEach(item -> {
+			assertThat(item.getProduct().getProductName()).startsWith("Product");
+			assertThat(item.getProduct().getCategory().getCategoryName()).startsWith("Category");
+		});
+
+		assertThat(cart.getCartItems()).hasSize(5);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_CART_VIEW);
+	}
+
+	@Test
+	void repricesCartLinesAndTotalsInBulk() {
+		cartRepository.repriceProductInCartTotals(productId, 12.0, List.of(cartId));
+		cartItemRepository.updateProductPriceInCarts(productId, 12.0, List.of(cartId));
+		entityManager.clear();
+
+		Cart cart = cartRepository.findCartWithItemsByEmailAndCart("user1@example.com", cartId);
+		CartItem repriced = cart.getCartItems().stream()
+				.filter(item -> item.getProduct().getProductId().equals(productId))
+				.findFirst()
+				.orElseThrow();
+
+		assertThat(repriced.getProductPrice()).isEqualTo(12.0);
+		assertThat(cart.getTotalPrice()).isEqualTo(150.0 + 2.0 * 5);
+	}
+}
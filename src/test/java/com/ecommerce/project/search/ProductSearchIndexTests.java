@@ -0,0 +1,65 @@
+package com.ecommerce.project.search;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTests {
+
+	private ProductSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProductSearchIndex(null);
+		index.index(product(1L, "Wireless Mouse", "Ergonomic mouse with USB receiver", "Electronics", 25.0));
+		index.index(product(2L, "Mechanical Keyboard", "Backlit keyboard, wireless and wired modes", "Electronics", 80.0));
+		index.index(product(3L, "Mouse Pad", "Large cloth pad for gaming", "Accessories", 10.0));
+	}
+
+	@Test
+	void ranksNameMatchesAboveDescriptionMatches() {
+		assertThat(index.search("wireless", null, "relevance", "asc")).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void matchesPrefixesAndRequiresEveryTerm() {
+		assertThat(index.search("mou", null, "relevance", "asc")).containsExactlyInAnyOrder(1L, 3L);
+		assertThat(index.search("mouse gam", null, "relevance", "asc")).containsExactly(3L);
+	}
+
+	@Test
+	void filtersByCategoryAndSortsByField() {
+		assertThat(index.search("mouse", "Electronics", "price", "asc")).containsExactly(1L);
+		assertThat(index.search("wireless", null, "price", "desc")).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void reindexesAndRemovesProducts() {
+		index.index(product(3L, "Desk Mat", "Large cloth mat for desks", "Accessories", 12.0));
+		assertThat(index.search("mouse", null, "relevance", "asc")).containsExactly(1L);
+		assertThat(index.search("desk", null, "relevance", "asc")).containsExactly(3L);
+
+		index.remove(1L);
+		assertThat(index.search("mouse", null, "relevance", "asc")).isEmpty();
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void followsCategoryRenames() {
+		index.renameCategory("Electronics", "Peripherals");
+
+		assertThat(index.search("mouse", "Electronics", "relevance", "asc")).isEmpty();
+		assertThat(index.search("mouse", "Peripherals", "relevance", "asc")).containsExactly(1L);
+	}
+
+	private static Product product(Long id, String name, String description, String categoryName, Double price) {
+		Category category = new Category(null, categoryName);
+		return new Product(id, name, null, description, 10, price, 0.0, price, category, null, new ArrayList<>());
+	}
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.project.security.jwt;
+
+import com.ecommerce.project.model.RevokedToken;
+import com.ecommerce.project.repositories.RevokedTokenRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.TokenVersionService;
+import com.ecommerce.project.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtUtilsTests {
+
+	private JwtUtils jwtUtils;
+	private UserRepository userRepository;
+	private RevokedTokenRepository revokedTokenRepository;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		when(userRepository.findTokenVersionByUserId(1L)).thenReturn(Optional.of(0));
+
+		jwtUtils = new JwtUtils(new TokenVersionService(userRepository, revokedTokenRepository, 30), meterRegistry);
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+				Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+		ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "jwt");
+		ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", 100L);
+		ReflectionTestUtils.setField(jwtUtils, "statelessPrincipal", true);
+		jwtUtils.init();
+	}
+
+	@Test
+	void verifiesTokenOnceAndServesRepeatsFromCache() {
+		String token = jwtUtils.generateTokenFromUsername("user1");
+
+		Claims first = jwtUtils.getVerifiedClaims(token);
+		Claims second = jwtUtils.getVerifiedClaims(token);
+
+		assertThat(first.getSubject()).isEqualTo("user1");
+		assertThat(second).isSameAs(first);
+		assertThat(jwtUtils.validateJwtToken(token)).isTrue();
+		assertThat(jwtUtils.getUsernameFromJwt(token)).isEqualTo("user1");
+	}
+
+	@Test
+	void rejectsTamperedAndEmptyTokens() {
+		String token = jwtUtils.generateTokenFromUsername("user1");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertThat(jwtUtils.validateJwtToken(tampered)).isFalse();
+		assertThat(jwtUtils.validateJwtToken("")).isFalse();
+		assertThat(jwtUtils.validateJwtToken("not-a-jwt")).isFalse();
+	}
+
+	@Test
+	void countsValidationOutcomes() {
+		String token = jwtUtils.generateTokenFromUsername("user1");
+
+		jwtUtils.validateJwtToken(token);
+		jwtUtils.validateJwtToken(token);
+		jwtUtils.validateJwtToken("not-a-jwt");
+		jwtUtils.validateJwtToken("");
+
+		assertThat(validations("verified")).isEqualTo(1.0);
+		assertThat(validations("cached")).isEqualTo(1.0);
+		assertThat(validations("malformed")).isEqualTo(1.0);
+		assertThat(validations("empty")).isEqualTo(1.0);
+		assertThat(validations("invalid_signature")).isZero();
+	}
+
+	@Test
+	void buildsPrincipalFromClaimsWithoutLoadingTheUser() {
+		UserDetailsImpl user = new UserDetailsImpl(1L, "user1", "user1@example.com", "secret",
+				List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		String token = jwtUtils.generateTokenFromUserDetails(user);
+
+		UserDetailsImpl principal = jwtUtils.getUserDetailsFromClaims(jwtUtils.getVerifiedClaims(token));
+
+		assertThat(principal.getId()).isEqualTo(1L);
+		assertThat(principal.getEmail()).isEqualTo("user1@example.com");
+		assertThat(principal.getPassword()).isNull();
+		assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+		verify(userRepository, never()).findByUsername("user1");
+	}
+
+	@Test
+	void fallsBackToTheDatabaseForTokensWithoutPrincipalClaims() {
+		String token = jwtUtils.generateTokenFromUsername("user1");
+
+		assertThat(jwtUtils.getUserDetailsFromClaims(jwtUtils.getVerifiedClaims(token))).isNull();
+	}
+
+	@Test
+	void signingOutRevokesOnlyThePresentedToken() {
+		UserDetailsImpl user = new UserDetailsImpl(1L, "user1", "user1@example.com", "secret",
+				List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		String laptop = jwtUtils.generateTokenFromUserDetails(user);
+		String phone = jwtUtils.generateTokenFromUserDetails(user);
+		jwtUtils.validateJwtToken(laptop);
+
+		jwtUtils.revokeToken(laptop);
+
+		assertThat(jwtUtils.validateJwtToken(laptop)).isFalse();
+		assertThat(jwtUtils.validateJwtToken(phone)).isTrue();
+		assertThat(validations("revoked")).isEqualTo(1.0);
+		verify(revokedTokenRepository).save(any(RevokedToken.class));
+		verify(userRepository, never()).incrementTokenVersion(1L);
+	}
+
+	private double validations(String outcome) {
+		return meterRegistry.get("jwt.validations").tag("outcome", outcome).counter().count();
+	}
+}
@@ -0,0 +1,169 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.execution.WorkerThreads;
+import com.ecommerce.project.image.ImageVariant;
+import com.ecommerce.project.image.ImageVariantPipeline;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.StoredImageRepository;
+import com.ecommerce.project.search.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:images;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileServiceTests {
+
+	@TempDir
+	Path imageDirectory;
+
+	@Autowired
+	private StoredImageRepository storedImageRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CartRepository cartRepository;
+
+	@Autowired
+	private CartItemRepository cartItemRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private ImageVariantPipeline pipeline;
+	private FileService fileService;
+
+	@BeforeEach
+	void setUp() {
+		pipeline = new ImageVariantPipeline(new WorkerThreads(new MockEnvironment()), imageDirectory.toString(), 1, 10, 0.8f,
+				40_000_000);
+		fileService = new FileServiceImpl(storedImageRepository, new TransactionTemplate(transactionManager), pipeline);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pipeline.shutdown();
+		storedImageRepository.deleteAll();
+	}
+
+	@Test
+	void storesContentUnderShardedDigestPath() throws Exception {
+		byte[] content = "vendor image".getBytes(StandardCharsets.UTF_8);
+		String digest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+		String fileName = fileService.uploadImage(imageDirectory.toString(), image("Vendor.PNG", content));
+
+		assertThat(fileName).isEqualTo(digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest + ".png");
+		assertThat(Files.readAllBytes(imageDirectory.resolve(fileName))).isEqualTo(content);
+		assertThat(storedFiles()).containsExactly(imageDirectory.resolve(fileName));
+	}
+
+	@Test
+	void deduplicatesIdenticalUploadsAndCountsReferences() throws Exception {
+		String first = fileService.uploadImage(imageDirectory.toString(), image("a.png", "same".getBytes()));
+		String second = fileService.uploadImage(imageDirectory.toString(), image("b.png", "same".getBytes()));
+		String other = fileService.uploadImage(imageDirectory.toString(), image("c.png", "other".getBytes()));
+
+		assertThat(second).isEqualTo(first);
+		assertThat(other).isNotEqualTo(first);
+		assertThat(storedFiles()).hasSize(2);
+		assertThat(storedImageRepository.findById(first).orElseThrow().getRefCount()).isEqualTo(2);
+		assertThat(storedImageRepository.findById(other).orElseThrow().getRefCount()).isEqualTo(1);
+	}
+
+	@Test
+	void removesImageAndVariantsOnceUnreferenced() throws Exception {
+		String fileName = fileService.uploadImage(imageDirectory.toString(), image("a.png", "shared".getBytes()));
+		fileService.uploadImage(imageDirectory.toString(), image("a.png", "shared".getBytes()));
+		Path variant = imageDirectory.resolve(ImageVariantPipeline.variantFileName(fileName, ImageVariant.THUMBNAIL));
+		Files.writeString(variant, "thumbnail");
+
+		fileService.releaseImage(imageDirectory.toString(), fileName);
+		assertThat(imageDirectory.resolve(fileName)).exists();
+		assertThat(storedImageRepository.findById(fileName).orElseThrow().getRefCount()).isEqualTo(1);
+
+		fileService.releaseImage(imageDirectory.toString(), fileName);
+		assertThat(imageDirectory.resolve(fileName)).doesNotExist();
+		assertThat(variant).doesNotExist();
+		assertThat(storedImageRepository.existsById(fileName)).isFalse();
+		assertThat(pipeline.resolve(fileName, ImageVariant.THUMBNAIL)).isEqualTo(fileName);
+	}
+
+	@Test
+	void deletingAProductReleasesItsImageOnceTheDeleteCommits() throws Exception {
+		String fileName = fileService.uploadImage(imageDirectory.toString(), image("lamp.png", "lamp".getBytes()));
+		Product product = new Product();
+		product.setProductName("Desk Lamp");
+		product.setDescription("Lamp whose image is released");
+		product.setImage(fileName);
+		product.setQuantity(1);
+		product.setPrice(10.0);
+		product.setDiscount(0.0);
+		product.setSpecialPrice(10.0);
+		Long productId = productRepository.save(product).getProductId();
+
+		ProductService productService = new ProductServiceImpl(productRepository, null, cartRepository,
+				cartItemRepository, fileService, null, new ProductSearchIndex(productRepository),
+				new ProductCatalogCache(100, 60), null, pipeline, new ProductMapperImpl());
+		ReflectionTestUtils.setField(productService, "path", imageDirectory.toString());
+
+		new TransactionTemplate(transactionManager).execute(status -> productService.deleteProduct(productId));
+
+		assertThat(productRepository.existsById(productId)).isFalse();
+		assertThat(storedImageRepository.existsById(fileName)).isFalse();
+		assertThat(imageDirectory.resolve(fileName)).doesNotExist();
+	}
+
+	@Test
+	void ignoresImagesThatAreNotReferenceCounted() throws Exception {
+		Files.writeString(imageDirectory.resolve("default.png"), "placeholder");
+
+		fileService.releaseImage(imageDirectory.toString(), "default.png");
+		fileService.releaseImage(imageDirectory.toString(), null);
+
+		assertThat(imageDirectory.resolve("default.png")).exists();
+	}
+
+	private static MockMultipartFile image(String originalFileName, byte[] content) {
+		return new MockMultipartFile("image", originalFileName, "image/png", content);
+	}
+
+	private List<Path> storedFiles() throws Exception {
+		try (Stream<Path> files = Files.walk(imageDirectory)) {
+			return files.filter(Files::isRegularFile).toList();
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.TestJsonConfiguration;
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.cache.ProductCatalogCache.CatalogQuery;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.inventory.HotSkuInventory;
+import com.ecommerce.project.mapper.OrderItemMapperImpl;
+import com.ecommerce.project.mapper.OrderMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.repositories.IdempotencyRecordRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:idempotency;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IdempotentCheckoutServiceImpl.class, OrderServiceImpl.class, InventoryServiceImpl.class, HotSkuInventory.class,
+		OrderMapperImpl.class, OrderItemMapperImpl.class, ProductMapperImpl.class,
+		ProductCatalogCache.class, TestJsonConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotentCheckoutServiceTests {
+
+	private static final int STOCK = 10;
+
+	@Autowired
+	private IdempotentCheckoutService idempotentCheckoutService;
+
+	@Autowired
+	private IdempotentCheckoutServiceImpl idempotentCheckoutServiceImpl;
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ProductCatalogCache productCatalogCache;
+
+	@Autowired
+	private CartRepository cartRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private String email;
+	private Long cartId;
+	private Long productId;
+	private OrderRequestDTO orderRequest;
+
+	@BeforeEach
+	void setUp() {
+		email = "buyer-" + System.nanoTime() + "@example.com";
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> seedCart());
+	}
+
+	@Test
+	void retriedRequestReturnsStoredOrderWithoutDatabaseWork() {
+		OrderDTO first = idempotentCheckoutService.placeOrder(email, "retry-key", "card", orderRequest);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		OrderDTO retried = idempotentCheckoutService.placeOrder(email, "retry-key", "card", orderRequest);
+
+		assertThat(retried).isEqualTo(first);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(orderRepository.findAll()).filteredOn(order -> email.equals(order.getEmail())).hasSize(1);
+		assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(STOCK - 2);
+	}
+
+	@Test
+	void reusingKeyForDifferentRequestIsRejected() {
+		idempotentCheckoutService.placeOrder(email, "reused-key", "card", orderRequest);
+
+		assertThatThrownBy(() -> idempotentCheckoutService.placeOrder(email, "reused-key", "paypal", orderRequest))
+				.isInstanceOf(APIException.class)
+				.hasMessageContaining("different order request");
+	}
+
+	@Test
+	void checkoutEmptiesTheCartAndAllowsTheNextOrderRightAway() {
+		idempotentCheckoutService.placeOrder(email, "first-key", "card", orderRequest);
+
+		Cart cart = cartRepository.findCartWithItemsByEmail(email);
+		assertThat(cart.getCartItems()).isEmpty();
+		assertThat(cart.getTotalPrice()).isZero();
+		assertThatThrownBy(() -> idempotentCheckoutService.placeOrder(email, "second-key", "card", orderRequest))
+				.isInstanceOf(APIException.class)
+				.hasMessage("Cart is empty");
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> addCartItem(
+				entityManager.find(Cart.class, cartId), entityManager.find(Product.class, productId)));
+		idempotentCheckoutService.placeOrder(email, "third-key", "card", orderRequest);
+
+		assertThat(orderRepository.findAll()).filteredOn(order -> email.equals(order.getEmail())).hasSize(2);
+		assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(STOCK - 4);
+	}
+
+	@Test
+	void checkoutRefreshesCachedPagesOfOrderedProducts() {
+		CatalogQuery listing = new CatalogQuery(null, null, null, 0, 10, "productId", "asc");
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<ProductResponse> loader = () -> {
+			loads.incrementAndGet();
+			ProductDTO productDTO = new ProductDTO();
+			productDTO.setProductId(productId);
+			return new ProductResponse(List.of(productDTO), 0, 10, 1L, 1, true);
+		};
+		productCatalogCache.get(listing, loader);
+
+		idempotentCheckoutService.placeOrder(email, "cache-key", "card", orderRequest);
+
+		productCatalogCache.get(listing, loader);
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	void purgeDeletesKeysOlderThanTheCacheTtl() {
+		idempotentCheckoutService.placeOrder(email, "fresh-key", "card", orderRequest);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> idempotencyRecordRepository.claim(
+				"stale-" + email, email, "hash", Instant.now().minus(Duration.ofDays(2))));
+
+		idempotentCheckoutServiceImpl.purgeExpired();
+
+		assertThat(idempotencyRecordRepository.findAll())
+				.filteredOn(record -> email.equals(record.getEmail()))
+				.extracting(record -> record.getRecordKey().startsWith("stale-"))
+				.containsExactly(false);
+	}
+
+	@Test
+	void concurrentRetriesCreateSingleOrder() throws Exception {
+		int clients = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<OrderDTO>> futures = new ArrayList<>();
+		Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+		try {
+			for (int i = 0; i < clients; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return idempotentCheckoutService.placeOrder(email, "concurrent-key", "card", orderRequest);
+				}));
+			}
+			start.countDown();
+			for (Future<OrderDTO> future : futures) {
+				orderIds.add(future.get(60, TimeUnit.SECONDS).getOrderId());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(orderIds).hasSize(1);
+		assertThat(orderRepository.findAll()).filteredOn(order -> email.equals(order.getEmail())).hasSize(1);
+		assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(STOCK - 2);
+	}
+
+	private void seedCart() {
+		User user = User.builder()
+				.username(email.substring(0, email.indexOf('@')))
+				.email(email)
+				.password("password")
+				.build();
+		entityManager.persist(user);
+
+		Address address = new Address(null, "Main Street", "Building 1", "Springfield", "State",
+				"Country", "123456", user);
+		entityManager.persist(address);
+
+		Product product = new Product();
+		product.setProductName("Idempotent Product");
+		product.setDescription("Product used by idempotency tests");
+		product.setQuantity(STOCK);
+		product.setPrice(10.0);
+		product.setDiscount(0.0);
+		product.setSpecialPrice(10.0);
+		entityManager.persist(product);
+
+		Cart cart = Cart.builder()
+				.user(user)
+				.totalPrice(20.0)
+				.cartItems(new ArrayList<>())
+				.build();
+		entityManager.persist(cart);
+		addCartItem(cart, product);
+
+		cartId = cart.getCartId();
+		productId = product.getProductId();
+		orderRequest = new OrderRequestDTO(address.getAddressId(), "card", "pg-1", "succeeded", "approved", "stub");
+	}
+
+	private void addCartItem(Cart cart, Product product) {
+		entityManager.persist(CartItem.builder()
+				.cart(cart)
+				.product(product)
+				.quantity(2)
+				.discount(0.0)
+				.productPrice(10.0)
+				.build());
+		cart.setTotalPrice(20.0);
+	}
+}
@@ -0,0 +1,214 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.inventory.HotSkuInventory;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:inventory;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InventoryServiceImpl.class, HotSkuInventory.class, ProductCatalogCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryServiceStressTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(InventoryServiceStressTests.class);
+
+	private static final int STOCK = 100;
+	private static final int THREADS = 32;
+	private static final int ORDERS_PER_THREAD = 25;
+	private static final long ORDER_WRITES_MILLIS = 2;
+
+	@Autowired
+	private InventoryService inventoryService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void tearDown() {
+		productRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentReservationsNeverOversell() throws Exception {
+		Long productId = seedProduct("Flash Sale Item", STOCK).getProductId();
+
+		AtomicInteger reservedUnits = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		runConcurrently(order -> {
+			int quantity = 1 + order % 3;
+			try {
+				reserve(Map.of(productId, quantity));
+				reservedUnits.addAndGet(quantity);
+			} catch (APIException e) {
+				rejected.incrementAndGet();
+			}
+		});
+
+		int remaining = productRepository.findById(productId).orElseThrow().getQuantity();
+		assertThat(remaining).isGreaterThanOrEqualTo(0);
+		assertThat(reservedUnits.get()).isEqualTo(STOCK - remaining);
+		assertThat(remaining).isLessThan(3);
+		assertThat(rejected.get()).isPositive();
+	}
+
+	@Test
+	void multiProductOrdersReserveAllOrNothing() throws Exception {
+		Long first = seedProduct("Limited Headphones", STOCK).getProductId();
+		Long second = seedProduct("Limited Speakers", STOCK / 2).getProductId();
+
+		AtomicInteger completedOrders = new AtomicInteger();
+		runConcurrently(order -> {
+			Map<Long, Integer> lines = order % 2 == 0
+					? Map.of(first, 1, second, 1)
+					: Map.of(second, 1, first, 1);
+			try {
+				reserve(lines);
+				completedOrders.incrementAndGet();
+			} catch (APIException e) {
+				assertThat(e.getMessage()).startsWith("Insufficient stock");
+			}
+		});
+
+		assertThat(completedOrders.get()).isEqualTo(STOCK / 2);
+		assertThat(productRepository.findById(first).orElseThrow().getQuantity()).isEqualTo(STOCK / 2);
+		assertThat(productRepository.findById(second).orElseThrow().getQuantity()).isZero();
+	}
+
+	@Test
+	void reservingLastShortensLockHoldTimeOnAHotRow() throws Exception {
+		Long first = seedProduct("Contended Item A", THREADS * ORDERS_PER_THREAD).getProductId();
+		Long last = seedProduct("Contended Item B", THREADS * ORDERS_PER_THREAD).getProductId();
+
+		CheckoutTiming reserveFirst = measureCheckouts(first, false);
+		CheckoutTiming reserveLast = measureCheckouts(last, true);
+
+		logger.info("reserve first: {} orders/s, mean lock hold {}us", reserveFirst.ordersPerSecond(),
+				reserveFirst.meanLockHoldMicros());
+		logger.info("reserve last: {} orders/s, mean lock hold {}us", reserveLast.ordersPerSecond(),
+				reserveLast.meanLockHoldMicros());
+
+		assertThat(productRepository.findById(last).orElseThrow().getQuantity()).isZero();
+		assertThat(reserveFirst.meanLockHoldMicros()).isGreaterThanOrEqualTo(ORDER_WRITES_MILLIS * 1_000);
+		assertThat(reserveLast.meanLockHoldMicros()).isLessThan(ORDER_WRITES_MILLIS * 1_000);
+		assertThat(reserveLast.ordersPerSecond()).isGreaterThan(reserveFirst.ordersPerSecond());
+	}
+
+	@Test
+	void rejectsNonPositiveQuantities() {
+		Long productId = seedProduct("Regular Item", STOCK).getProductId();
+
+		assertThatThrownBy(() -> reserve(Map.of(productId, 0)))
+				.isInstanceOf(APIException.class);
+		assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isEqualTo(STOCK);
+	}
+
+	private void reserve(Map<Long, Integer> quantities) {
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> inventoryService.reserve(quantities));
+	}
+
+	// The pause stands in for the order, payment and order item inserts; a lock is held from the stock update to commit.
+	private CheckoutTiming measureCheckouts(Long productId, boolean reserveLast) throws Exception {
+		LongAdder lockHoldNanos = new LongAdder();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		long start = System.nanoTime();
+		runConcurrently(order -> {
+			long locked = transactionTemplate.execute(status -> {
+				if (!reserveLast) {
+					inventoryService.reserve(Map.of(productId, 1));
+				}
+				long reservedAt = System.nanoTime();
+				writeOrder();
+				if (reserveLast) {
+					inventoryService.reserve(Map.of(productId, 1));
+					reservedAt = System.nanoTime();
+				}
+				return reservedAt;
+			});
+			lockHoldNanos.add(System.nanoTime() - locked);
+		});
+		long elapsedNanos = System.nanoTime() - start;
+
+		int orders = THREADS * ORDERS_PER_THREAD;
+		return new CheckoutTiming(orders * 1_000_000_000L / elapsedNanos, lockHoldNanos.sum() / orders / 1_000);
+	}
+
+	private void writeOrder() {
+		try {
+			Thread.sleep(ORDER_WRITES_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void runConcurrently(IntConsumer order) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int thread = 0; thread < THREADS; thread++) {
+				int offset = thread * ORDERS_PER_THREAD;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+						order.accept(offset + i);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Product seedProduct(String name, int quantity) {
+		Product product = new Product();
+		product.setProductName(name);
+		product.setDescription("Stock reservation test product");
+		product.setQuantity(quantity);
+		product.setPrice(10.0);
+		product.setDiscount(0.0);
+		product.setSpecialPrice(10.0);
+		return productRepository.save(product);
+	}
+
+	private record CheckoutTiming(long ordersPerSecond, long meanLockHoldMicros) {
+	}
+}
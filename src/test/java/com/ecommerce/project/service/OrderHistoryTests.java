@@ -0,0 +1,144 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.inventory.HotSkuInventory;
+import com.ecommerce.project.mapper.OrderItemMapperImpl;
+import com.ecommerce.project.mapper.OrderMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderCursorResponse;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.util.KeysetCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderServiceImpl.class, InventoryServiceImpl.class, HotSkuInventory.class, ProductCatalogCache.class,
+		OrderMapperImpl.class, OrderItemMapperImpl.class, ProductMapperImpl.class})
+class OrderHistoryTests {
+
+	private static final String BUYER = "buyer@example.com";
+	private static final LocalDate START = LocalDate.of(2026, 1, 1);
+	private static final int MAX_STATEMENTS_PER_PAGE = 2;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private OrderService orderService;
+
+	private final List<Long> buyerOrderIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		Category category = entityManager.persist(new Category(null, "Books"));
+		Product product = new Product();
+		product.setProductName("History Book");
+		product.setDescription("Product used by order history tests");
+		product.setQuantity(100);
+		product.setPrice(10.0);
+		product.setDiscount(0.0);
+		product.setSpecialPrice(10.0);
+		product.setCategory(category);
+		entityManager.persist(product);
+
+		for (int i = 0; i < 7; i++) {
+			LocalDate orderDate = START.plusDays(i / 2);
+			String status = i % 3 == 0 ? "Delivered" : "Order Accepted !";
+			buyerOrderIds.add(persistOrder(BUYER, orderDate, status, product));
+		}
+		persistOrder("other@example.com", START, "Order Accepted !", product);
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void pagesThroughOrdersNewestFirstWithBatchedItems() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<OrderDTO> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			statistics.clear();
+			OrderCursorResponse page = orderService.getOrders(BUYER, null, null, null, cursor, 3);
+			assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+
+			page.getContent().forEach(order -> assertThat(order.getOrderItems()).hasSize(2));
+			seen.addAll(page.getContent());
+			cursor = page.getNextCursor();
+			entityManager.clear();
+		} while (cursor != null);
+
+		assertThat(seen).extracting(OrderDTO::getOrderId)
+				.containsExactly(buyerOrderIds.get(6), buyerOrderIds.get(5), buyerOrderIds.get(4),
+						buyerOrderIds.get(3), buyerOrderIds.get(2), buyerOrderIds.get(1), buyerOrderIds.get(0));
+		assertThat(seen).allSatisfy(order -> assertThat(order.getPayment()).isNotNull());
+	}
+
+	@Test
+	void filtersByStatusAndDateRange() {
+		OrderCursorResponse delivered = orderService.getOrders(null, "Delivered", null, null, null, 50);
+		assertThat(delivered.getContent()).extracting(OrderDTO::getOrderId)
+				.containsExactly(buyerOrderIds.get(6), buyerOrderIds.get(3), buyerOrderIds.get(0));
+
+		OrderCursorResponse range = orderService.getOrders(null, null, START.plusDays(1), START.plusDays(2), null, 50);
+		assertThat(range.getContent()).extracting(OrderDTO::getOrderId)
+				.containsExactly(buyerOrderIds.get(5), buyerOrderIds.get(4), buyerOrderIds.get(3), buyerOrderIds.get(2));
+		assertThat(range.isLastPage()).isTrue();
+	}
+
+	@Test
+	void rejectsCursorFromAnotherListing() {
+		assertThatThrownBy(() -> orderService.getOrders(BUYER, null, null, null, "bm90LWEtY3Vyc29y", 3))
+				.isInstanceOf(APIException.class);
+
+		String withoutDate = new KeysetCursor("orderDate", "desc", buyerOrderIds.get(3), null).encode();
+		assertThatThrownBy(() -> orderService.getOrders(BUYER, null, null, null, withoutDate, 3))
+				.isInstanceOf(APIException.class);
+	}
+
+	@Test
+	void rejectsPageSizesBelowOne() {
+		assertThatThrownBy(() -> orderService.getOrders(BUYER, null, null, null, null, 0))
+				.isInstanceOf(APIException.class)
+				.hasMessage("Page size must be at least 1");
+		assertThatThrownBy(() -> orderService.getOrders(BUYER, null, null, null, null, -5))
+				.isInstanceOf(APIException.class);
+	}
+
+	private Long persistOrder(String email, LocalDate orderDate, String status, Product product) {
+		Payment payment = new Payment("card", "pg-" + orderDate, "succeeded", "approved", "stub");
+		entityManager.persist(payment);
+
+		Order order = new Order();
+		order.setEmail(email);
+		order.setOrderDate(orderDate);
+		order.setOrderStatus(status);
+		order.setTotalPrice(20.0);
+		order.setPayment(payment);
+		entityManager.persist(order);
+
+		for (int i = 0; i < 2; i++) {
+			entityManager.persist(new OrderItem(null, product, order, 1, 0.0, 10.0));
+		}
+		return order.getOrderId();
+	}
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.payload.PaymentCallbackDTO;
+import com.ecommerce.project.payload.PaymentWebhookStatsDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:webhook;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentWebhookServiceTests {
+
+	private static final int PAYMENTS = 100;
+	private static final int CALLBACKS_PER_PAYMENT = 10;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			for (int i = 0; i < PAYMENTS; i++) {
+				persistOrder("pg-" + i);
+			}
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM orders");
+		jdbcTemplate.update("DELETE FROM payments");
+	}
+
+	@Test
+	void burstOfCallbacksIsCoalescedAndAppliedInBatches() {
+		PaymentWebhookServiceImpl service = service(10_000, 60);
+
+		for (int round = 0; round < CALLBACKS_PER_PAYMENT; round++) {
+			String status = round == CALLBACKS_PER_PAYMENT - 1 ? "succeeded" : "processing";
+			for (int i = 0; i < PAYMENTS; i++) {
+				assertThat(service.accept(new PaymentCallbackDTO("pg-" + i, status, "round " + round, null))).isTrue();
+			}
+		}
+
+		PaymentWebhookStatsDTO queued = service.getStats();
+		assertThat(queued.getQueued()).isEqualTo(PAYMENTS);
+		assertThat(queued.getCoalesced()).isEqualTo((long) PAYMENTS * (CALLBACKS_PER_PAYMENT - 1));
+
+		assertThat(service.flush()).isEqualTo(PAYMENTS);
+
+		PaymentWebhookStatsDTO flushed = service.getStats();
+		assertThat(flushed.getQueued()).isZero();
+		assertThat(flushed.getBatches()).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM payments WHERE pg_status = 'succeeded' AND pg_name = 'stub'", Integer.class))
+				.isEqualTo(PAYMENTS);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM orders WHERE order_status = 'Payment Received'", Integer.class))
+				.isEqualTo(PAYMENTS);
+	}
+
+	@Test
+	void rejectsNewPaymentsWhenQueueIsFull() {
+		PaymentWebhookServiceImpl service = service(5, 500);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(service.accept(new PaymentCallbackDTO("pg-" + i, "failed", "declined", null))).isTrue();
+		}
+		assertThat(service.accept(new PaymentCallbackDTO("pg-5", "failed", "declined", null))).isFalse();
+		assertThat(service.accept(new PaymentCallbackDTO("pg-0", "succeeded", "retried", null))).isTrue();
+
+		PaymentWebhookStatsDTO stats = service.getStats();
+		assertThat(stats.getQueued()).isEqualTo(5);
+		assertThat(stats.getRejected()).isEqualTo(1);
+		assertThat(stats.getCoalesced()).isEqualTo(1);
+
+		service.flush();
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT pg_status FROM payments WHERE pg_payment_id = 'pg-0'", String.class)).isEqualTo("succeeded");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM orders WHERE order_status = 'Payment Failed'", Integer.class)).isEqualTo(4);
+	}
+
+	@Test
+	void lateCallbacksNeverMoveAPaymentBackwards() {
+		PaymentWebhookServiceImpl service = service(100, 50);
+		service.accept(new PaymentCallbackDTO("pg-1", "succeeded", "captured", null));
+		service.accept(new PaymentCallbackDTO("pg-2", "succeeded", "captured", null));
+		service.accept(new PaymentCallbackDTO("pg-2", "processing", "late retry", null));
+		service.flush();
+
+		service.accept(new PaymentCallbackDTO("pg-1", "processing", "late retry", null));
+		service.accept(new PaymentCallbackDTO("pg-3", "refunded", "refund issued", null));
+		service.flush();
+
+		assertThat(paymentStatus("pg-1")).isEqualTo("succeeded");
+		assertThat(paymentStatus("pg-2")).isEqualTo("succeeded");
+		assertThat(orderStatus("pg-1")).isEqualTo("Payment Received");
+
+		service.accept(new PaymentCallbackDTO("pg-1", "refunded", "refund issued", null));
+		service.flush();
+		service.accept(new PaymentCallbackDTO("pg-1", "succeeded", "duplicate", null));
+		service.flush();
+
+		assertThat(paymentStatus("pg-1")).isEqualTo("refunded");
+		assertThat(orderStatus("pg-1")).isEqualTo("Refunded");
+		assertThat(paymentStatus("pg-3")).isEqualTo("refunded");
+	}
+
+	@Test
+	void callbackForAPaymentNotWrittenYetIsRetriedThenDropped() {
+		PaymentWebhookServiceImpl service = service(100, 50);
+		service.accept(new PaymentCallbackDTO("pg-late", "succeeded", "captured", null));
+		service.accept(new PaymentCallbackDTO("pg-unknown", "succeeded", "captured", null));
+
+		assertThat(service.flush()).isZero();
+		assertThat(service.getStats().getQueued()).isEqualTo(2);
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> persistOrder("pg-late"));
+		assertThat(service.flush()).isEqualTo(1);
+		assertThat(paymentStatus("pg-late")).isEqualTo("succeeded");
+		assertThat(orderStatus("pg-late")).isEqualTo("Payment Received");
+
+		service.flush();
+		PaymentWebhookStatsDTO stats = service.getStats();
+		assertThat(stats.getQueued()).isZero();
+		assertThat(stats.getDropped()).isEqualTo(1);
+	}
+
+	@Test
+	void unknownPaymentIsRetriedOnlyAfterItsBackoff() throws InterruptedException {
+		PaymentWebhookServiceImpl service = service(100, 50, 200);
+		service.accept(new PaymentCallbackDTO("pg-slow", "succeeded", "captured", null));
+
+		assertThat(service.flush()).isZero();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> persistOrder("pg-slow"));
+		for (int i = 0; i < 5; i++) {
+			assertThat(service.flush()).isZero();
+		}
+		assertThat(paymentStatus("pg-slow")).isEqualTo("pending");
+
+		Thread.sleep(250);
+		assertThat(service.flush()).isEqualTo(1);
+		assertThat(orderStatus("pg-slow")).isEqualTo("Payment Received");
+		assertThat(service.getStats().getDropped()).isZero();
+	}
+
+	@Test
+	void failingCallbackIsAppliedAloneSoTheRestOfTheBatchCommits() {
+		PaymentWebhookServiceImpl service = service(100, 50);
+		service.accept(new PaymentCallbackDTO("pg-1", "succeeded", "captured", null));
+		service.accept(new PaymentCallbackDTO("pg-2", "failed", "x".repeat(300), null));
+		service.accept(new PaymentCallbackDTO("pg-3", "failed", "declined", null));
+
+		assertThat(service.flush()).isEqualTo(2);
+		assertThat(paymentStatus("pg-1")).isEqualTo("succeeded");
+		assertThat(paymentStatus("pg-2")).isEqualTo("pending");
+		assertThat(orderStatus("pg-3")).isEqualTo("Payment Failed");
+
+		service.flush();
+		service.flush();
+		PaymentWebhookStatsDTO stats = service.getStats();
+		assertThat(stats.getQueued()).isZero();
+		assertThat(stats.getDropped()).isEqualTo(1);
+		assertThat(stats.getApplied()).isEqualTo(2);
+	}
+
+	private void persistOrder(String pgPaymentId) {
+		Payment payment = new Payment("card", pgPaymentId, "pending", "created", "stub");
+		entityManager.persist(payment);
+
+		Order order = new Order();
+		order.setEmail("buyer-" + pgPaymentId + "@example.com");
+		order.setOrderDate(LocalDate.now());
+		order.setOrderStatus("Order Accepted !");
+		order.setTotalPrice(10.0);
+		order.setPayment(payment);
+		entityManager.persist(order);
+	}
+
+	private String paymentStatus(String pgPaymentId) {
+		return jdbcTemplate.queryForObject("SELECT pg_status FROM payments WHERE pg_payment_id = ?", String.class,
+				pgPaymentId);
+	}
+
+	private String orderStatus(String pgPaymentId) {
+		return jdbcTemplate.queryForObject("SELECT o.order_status FROM orders o JOIN payments p " +
+				"ON p.payment_id = o.payment_id WHERE p.pg_payment_id = ?", String.class, pgPaymentId);
+	}
+
+	private PaymentWebhookServiceImpl service(int capacity, int batchSize) {
+		return service(capacity, batchSize, 0);
+	}
+
+	private PaymentWebhookServiceImpl service(int capacity, int batchSize, long retryBackoffMs) {
+		return new PaymentWebhookServiceImpl(jdbcTemplate, new TransactionTemplate(transactionManager),
+				"secret", capacity, batchSize, 60_000, 3, retryBackoffMs);
+	}
+}
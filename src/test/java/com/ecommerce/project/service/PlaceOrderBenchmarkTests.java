@@ -0,0 +1,115 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.inventory.HotSkuInventory;
+import com.ecommerce.project.mapper.OrderItemMapperImpl;
+import com.ecommerce.project.mapper.OrderMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.jdbc.batch_size=50",
+		"spring.jpa.properties.hibernate.order_inserts=true",
+		"spring.jpa.properties.hibernate.order_updates=true"
+})
+@Import({OrderServiceImpl.class, InventoryServiceImpl.class, HotSkuInventory.class, ProductCatalogCache.class,
+		OrderMapperImpl.class, OrderItemMapperImpl.class, ProductMapperImpl.class})
+class PlaceOrderBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(PlaceOrderBenchmarkTests.class);
+
+	private static final int BATCH_SIZE = 50;
+	private static final int FIXED_STATEMENTS = 10;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private OrderService orderService;
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 10, 50, 200})
+	void placesOrderWithStatementCountIndependentOfCartSize(int cartSize) {
+		String email = "buyer" + cartSize + "@example.com";
+		Long addressId = seedCart(email, cartSize);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		long start = System.nanoTime();
+		OrderDTO orderDTO = orderService.placeOrder(email, addressId, "card", "pg-1", "ok", "approved", "stub");
+		entityManager.flush();
+		long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+		long statements = statistics.getPrepareStatementCount();
+		logger.info("placeOrder cartSize={} statements={} latency={}us", cartSize, statements, elapsedMicros);
+
+		int batches = (cartSize + BATCH_SIZE - 1) / BATCH_SIZE;
+		assertThat(orderDTO.getOrderItems()).hasSize(cartSize);
+		assertThat(statements).isLessThanOrEqualTo(FIXED_STATEMENTS + 3L * batches);
+	}
+
+	private Long seedCart(String email, int cartSize) {
+		User user = entityManager.persist(User.builder()
+				.username("buyer" + cartSize)
+				.email(email)
+				.password("password")
+				.build());
+
+		Address address = new Address(null, "Main Street", "Building 1", "Springfield", "State",
+				"Country", "123456", user);
+		entityManager.persist(address);
+
+		Category category = entityManager.persist(new Category(null, "Category " + cartSize));
+		Cart cart = entityManager.persist(Cart.builder()
+				.user(user)
+				.totalPrice(0.0)
+				.cartItems(new ArrayList<>())
+				.build());
+
+		for (int i = 0; i < cartSize; i++) {
+			Product product = new Product();
+			product.setProductName("Product " + cartSize + "-" + i);
+			product.setDescription("Description of product " + i);
+			product.setQuantity(100);
+			product.setPrice(10.0);
+			product.setDiscount(0.0);
+			product.setSpecialPrice(10.0);
+			product.setCategory(category);
+			entityManager.persist(product);
+
+			entityManager.persist(CartItem.builder()
+					.cart(cart)
+					.product(product)
+					.quantity(1)
+					.discount(0.0)
+					.productPrice(10.0)
+					.build());
+		}
+
+		cart.setTotalPrice(10.0 * cartSize);
+		entityManager.flush();
+		entityManager.clear();
+		return address.getAddressId();
+	}
+}
@@ -0,0 +1,171 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.execution.WorkerThreads;
+import com.ecommerce.project.image.ImageVariantPipeline;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductCursorResponse;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.search.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class ProductScrollTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@TempDir
+	private Path imageDirectory;
+
+	private ProductService productService;
+	private final List<Product> products = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		Category lighting = entityManager.persist(new Category(null, "Lighting"));
+		Category furniture = entityManager.persist(new Category(null, "Furniture"));
+
+		persist("Desk Lamp", lighting, 30.0, 10.0);
+		persist("Floor Lamp", lighting, 80.0, null);
+		persist("Reading Lamp", lighting, 30.0, 5.0);
+		persist("Wall Lamp", lighting, 45.0, null);
+		persist("Bedside Lamp", lighting, 20.0, 10.0);
+		persist("Office Chair", furniture, 120.0, 15.0);
+		persist("Standing Desk", furniture, 300.0, null);
+		entityManager.flush();
+		entityManager.clear();
+
+		ProductSearchIndex productSearchIndex = new ProductSearchIndex(productRepository);
+		productSearchIndex.rebuild();
+		ImageVariantPipeline imageVariantPipeline = new ImageVariantPipeline(new WorkerThreads(new MockEnvironment()),
+				imageDirectory.toString(), 1, 10, 0.8f, 40_000_000);
+		productService = new ProductServiceImpl(productRepository, null, null, null, null, null,
+				productSearchIndex, new ProductCatalogCache(100, 60), null, imageVariantPipeline, new ProductMapperImpl());
+		ReflectionTestUtils.setField(productService, "imageBaseUrl", "http://localhost:8080/images/");
+	}
+
+	@Test
+	void roundTripsTheCursorAcrossEveryPage() {
+		List<Long> expected = products.stream()
+				.sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getProductId))
+				.map(Product::getProductId)
+				.toList();
+
+		assertThat(scrollAll(null, "price", "asc", 2)).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void keepsNullSortValuesLastInBothDirections() {
+		Comparator<Product> byId = Comparator.comparing(Product::getProductId);
+		List<Long> ascending = products.stream()
+				.sorted(Comparator.comparing(Product::getDiscount, Comparator.nullsLast(Comparator.<Double>naturalOrder()))
+						.thenComparing(byId))
+				.map(Product::getProductId)
+				.toList();
+		List<Long> descending = products.stream()
+				.sorted(Comparator.comparing(Product::getDiscount, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+						.thenComparing(byId.reversed()))
+				.map(Product::getProductId)
+				.toList();
+
+		assertThat(scrollAll(null, "discount", "asc", 2)).containsExactlyElementsOf(ascending);
+		assertThat(scrollAll(null, "discount", "desc", 2)).containsExactlyElementsOf(descending);
+	}
+
+	@Test
+	void scrollsKeywordMatchesPageByPageFromTheIndex() {
+		List<Long> expected = products.stream()
+				.filter(product -> product.getProductName().endsWith("Lamp"))
+				.sorted(Comparator.comparing(Product::getDiscount, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+						.thenComparing(Comparator.comparing(Product::getProductId).reversed()))
+				.map(Product::getProductId)
+				.toList();
+
+		ProductCursorResponse first = productService.scrollProducts("lamp", null, null, 2, "discount", "desc", false);
+
+		assertThat(first.getContent()).hasSize(2);
+		assertThat(first.getTotalElements()).isEqualTo(5L);
+		assertThat(scrollAll("lamp", "discount", "desc", 2)).containsExactlyElementsOf(expected);
+		assertThat(scrollAll("lamp", "productName", "asc", 3)).hasSize(5);
+	}
+
+	@Test
+	void rejectsMismatchedCursorsUnsupportedFieldsAndEmptyPages() {
+		String cursor = productService.scrollProducts(null, null, null, 2, "price", "asc", true).getNextCursor();
+
+		assertThatThrownBy(() -> productService.scrollProducts(null, null, cursor, 2, "price", "desc", true))
+				.isInstanceOf(APIException.class);
+		assertThatThrownBy(() -> productService.scrollProducts(null, null, cursor, 2, "discount", "asc", true))
+				.isInstanceOf(APIException.class);
+		assertThatThrownBy(() -> productService.scrollProducts(null, null, null, 2, "quantity", "asc", true))
+				.isInstanceOf(APIException.class);
+		assertThatThrownBy(() -> productService.scrollProducts(null, null, null, 0, "price", "asc", true))
+				.isInstanceOf(APIException.class);
+	}
+
+	@Test
+	void exposesTheUrlOfEveryImageVariant() throws Exception {
+		Files.writeString(imageDirectory.resolve("desk-lamp-large.jpg"), "large variant");
+
+		ProductDTO deskLamp = productService.scrollProducts("desk lamp", null, null, 1, "productId", "asc", true)
+				.getContent().get(0);
+
+		assertThat(deskLamp.getImageVariants())
+				.containsEntry("thumbnail", "http://localhost:8080/images/desk-lamp.png")
+				.containsEntry("medium", "http://localhost:8080/images/desk-lamp.png")
+				.containsEntry("large", "http://localhost:8080/images/desk-lamp-large.jpg");
+		assertThat(deskLamp.getImage()).isEqualTo(deskLamp.getImageVariants().get("thumbnail"));
+	}
+
+	private List<Long> scrollAll(String keyword, String sortBy, String sortOrder, int pageSize) {
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		ProductCursorResponse page;
+		do {
+			page = productService.scrollProducts(keyword, null, cursor, pageSize, sortBy, sortOrder, true);
+			assertThat(page.getContent()).hasSizeLessThanOrEqualTo(pageSize);
+			page.getContent().stream().map(ProductDTO::getProductId).forEach(seen::add);
+			cursor = page.getNextCursor();
+		} while (!page.isLastPage());
+
+		assertThat(seen).doesNotHaveDuplicates();
+		return seen;
+	}
+
+	private void persist(String name, Category category, Double price, Double discount) {
+		Product product = new Product();
+		product.setProductName(name);
+		product.setDescription(name + " used by scroll tests");
+		product.setImage(name.toLowerCase().replace(' ', '-') + ".png");
+		product.setQuantity(10);
+		product.setPrice(price);
+		product.setDiscount(discount);
+		product.setSpecialPrice(price);
+		product.setCategory(category);
+		products.add(entityManager.persist(product));
+	}
+}